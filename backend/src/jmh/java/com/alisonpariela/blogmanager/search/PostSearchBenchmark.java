@@ -0,0 +1,134 @@
+package com.alisonpariela.blogmanager.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One user's posts searched through {@link InvertedIndex} versus the LIKE
+ * fallback of PostSearchRepository on an in-memory H2 table. Both return the
+ * first page of ten plus the total match count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostSearchBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final long USER_ID = 1;
+
+    @Param({"1000", "20000"})
+    int posts;
+
+    @Param({"common", "rare pair"})
+    String queryKind;
+
+    private InvertedIndex index;
+    private Connection connection;
+    private PreparedStatement likePage;
+    private PreparedStatement likeCount;
+    private String query;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Random random = new Random(42);
+        index = new InvertedIndex();
+        connection = DriverManager.getConnection("jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE post (id BIGINT PRIMARY KEY, user_id BIGINT, title VARCHAR(255),"
+                    + " contents TEXT, created_at TIMESTAMP)");
+            ddl.execute("CREATE INDEX idx_post_user ON post (user_id, created_at DESC, id DESC)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO post VALUES (?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= posts; id++) {
+                String title = text(random, 6);
+                String contents = text(random, 120);
+                index.put(id, title, contents);
+                insert.setLong(1, id);
+                insert.setLong(2, USER_ID);
+                insert.setString(3, title);
+                insert.setString(4, contents);
+                insert.setTimestamp(5, new Timestamp(1_700_000_000_000L + id * 1000L));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        query = "common".equals(queryKind) ? word(3) : word(400) + " " + word(900);
+        String match = "user_id = ? AND (lower(title) LIKE ? ESCAPE '\\' OR lower(contents) LIKE ? ESCAPE '\\')";
+        likePage = connection.prepareStatement("SELECT id, title, substring(contents, 1, 200) FROM post WHERE " + match
+                + " ORDER BY created_at DESC, id DESC LIMIT 10");
+        likeCount = connection.prepareStatement("SELECT count(*) FROM post WHERE " + match);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void invertedIndex(Blackhole blackhole) {
+        InvertedIndex.Result result = index.search(query, 10);
+        blackhole.consume(result.hits());
+        blackhole.consume(result.total());
+    }
+
+    @Benchmark
+    public void sqlLike(Blackhole blackhole) throws SQLException {
+        // The LIKE path matches the query as one substring, as PostSearchRepository does.
+        String pattern = "%" + query + "%";
+        for (PreparedStatement statement : new PreparedStatement[]{likePage, likeCount}) {
+            statement.setLong(1, USER_ID);
+            statement.setString(2, pattern);
+            statement.setString(3, pattern);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    blackhole.consume(rs.getObject(1));
+                }
+            }
+        }
+    }
+
+    // Zipf-like word choice so a few terms are very common and most are rare.
+    private static String text(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            int rank = (int) Math.pow(VOCABULARY, random.nextDouble());
+            text.append(word(rank - 1)).append(' ');
+        }
+        return text.toString();
+    }
+
+    private static String word(int n) {
+        StringBuilder word = new StringBuilder("w");
+        do {
+            word.append((char) ('a' + n % 26));
+            n /= 26;
+        } while (n > 0);
+        return word.toString();
+    }
+}
@@ -0,0 +1,86 @@
+package com.alisonpariela.blogmanager.security;
+
+import com.alisonpariela.blogmanager.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost with a no-op filter chain. The principal
+ * lookup is stubbed as a cache hit and the token verification cache is warm, so
+ * this is the steady-state overhead the filter adds to every API call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    boolean statelessAuth;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = JwtServiceBenchmark.jwtService();
+        UserPrincipal principal = new UserPrincipal(42L, "benchmark-user", 0);
+
+        UserPrincipalService principals = new UserPrincipalService(null, new SimpleMeterRegistry()) {
+            @Override
+            public UserPrincipal loadPrincipal(String username) {
+                return principal;
+            }
+        };
+        TokenVersionStore versions = new TokenVersionStore() {
+            @Override
+            public int currentVersion(Long userId) {
+                return 0;
+            }
+
+            @Override
+            public void update(Long userId, int version) {
+            }
+        };
+        filter = new JwtAuthenticationFilter(jwtService, principals, versions);
+        ReflectionTestUtils.setField(filter, "statelessAuth", statelessAuth);
+
+        String token = jwtService.generateToken(User.builder()
+                .id(42L).username("benchmark-user").tokenVersion(0).build());
+        request = new MockHttpServletRequest("GET", "/api/posts");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        try {
+            filter.doFilter(request, response, chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.alisonpariela.blogmanager.web;
+
+import com.alisonpariela.blogmanager.DTO.PostDTO;
+import com.alisonpariela.blogmanager.model.Post;
+import com.alisonpariela.blogmanager.model.User;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON cost of a posts page, as entities (the original payload, which drags the
+ * owning User along) and as the PostDTO projection returned today.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    @Param({"10", "100"})
+    int pageSize;
+
+    @Param({"200", "5000"})
+    int contentLength;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private Page<Post> entityPage;
+    private Page<PostDTO> dtoPage;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder().id(1L).username("benchmark-user").email("bench@example.com")
+                .password("$2a$10$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234").build();
+        String contents = "x".repeat(contentLength);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+        List<Post> posts = new ArrayList<>(pageSize);
+        List<PostDTO> dtos = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            Post post = new Post();
+            post.setId(id);
+            post.setTitle("Post title " + id);
+            post.setContents(contents);
+            post.setCreatedAt(now);
+            post.setLastUpdatedAt(now);
+            post.setUser(user);
+            posts.add(post);
+            dtos.add(PostDTO.from(post, user.getUsername()));
+        }
+        PageRequest pageable = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createdAt"));
+        entityPage = new PageImpl<>(posts, pageable, 1_000);
+        dtoPage = new PageImpl<>(dtos, pageable, 1_000);
+    }
+
+    @Benchmark
+    public byte[] entityPage() {
+        return jsonMapper.writeValueAsBytes(entityPage);
+    }
+
+    @Benchmark
+    public byte[] dtoPage() {
+        return jsonMapper.writeValueAsBytes(dtoPage);
+    }
+}
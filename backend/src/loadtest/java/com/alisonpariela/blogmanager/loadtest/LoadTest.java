@@ -0,0 +1,396 @@
+package com.alisonpariela.blogmanager.loadtest;
+
+import com.alisonpariela.blogmanager.BlogBackendApplication;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * End-to-end load harness. Boots the application in-process on the loadtest
+ * profile (H2 in PostgreSQL mode), or targets a running instance with
+ * baseUrl=..., seeds users and posts through the API and then drives a mixed
+ * workload, reporting throughput and latency percentiles per endpoint.
+ * <p>
+ * Arguments are key=value pairs; anything starting with -- is passed to the
+ * application, e.g. --spring.threads.virtual.enabled=true to compare threading
+ * modes. With maxP99Ms or maxErrorRate set the run exits non-zero on regression.
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dload.args="users=32 postsPerUser=200 concurrency=32 duration=60s"
+ * </pre>
+ */
+public class LoadTest {
+
+    private static final String PASSWORD = "loadtest-password";
+
+    // Relative weights of the workload mix.
+    private static final Map<String, Integer> MIX = new LinkedHashMap<>();
+    static {
+        MIX.put("GET /api/posts", 40);
+        MIX.put("POST /api/posts", 15);
+        MIX.put("PUT /api/posts/{id}", 15);
+        MIX.put("DELETE /api/posts/{id}", 10);
+        MIX.put("PUT /api/users/{id}", 10);
+        MIX.put("POST /api/auth/login", 10);
+    }
+
+    private final JsonMapper json = JsonMapper.builder().build();
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final Map<String, String> options;
+    private String baseUrl;
+
+    LoadTest(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                appArgs.add(arg);
+            } else if (arg.contains("=")) {
+                options.put(arg.substring(0, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+
+        ConfigurableApplicationContext app = null;
+        LoadTest loadTest = new LoadTest(options);
+        try {
+            if (options.containsKey("baseUrl")) {
+                loadTest.baseUrl = options.get("baseUrl");
+            } else {
+                System.setProperty("spring.devtools.restart.enabled", "false");
+                app = new SpringApplicationBuilder(BlogBackendApplication.class)
+                        .profiles("loadtest")
+                        .run(appArgs.toArray(String[]::new));
+                loadTest.baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+            }
+            boolean passed = loadTest.run();
+            if (app != null) {
+                app.close();
+            }
+            System.exit(passed ? 0 : 1);
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.exit(2);
+        }
+    }
+
+    boolean run() throws Exception {
+        int concurrency = intOption("concurrency", 16);
+        int users = Math.max(intOption("users", 32), concurrency);
+        int postsPerUser = intOption("postsPerUser", 100);
+        Duration warmup = durationOption("warmup", "10s");
+        Duration duration = durationOption("duration", "30s");
+
+        System.out.printf("Target %s, %d users x %d posts, concurrency %d, warmup %s, duration %s%n",
+                baseUrl, users, postsPerUser, concurrency, warmup, duration);
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        try {
+            long seedStarted = System.nanoTime();
+            List<VirtualUser> seeded = seed(pool, users, postsPerUser);
+            System.out.printf("Seeded in %d ms%n", (System.nanoTime() - seedStarted) / 1_000_000);
+
+            drive(pool, seeded, concurrency, warmup);
+            long started = System.nanoTime();
+            List<Map<String, Samples>> results = drive(pool, seeded, concurrency, duration);
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            return report(merge(results), seconds);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<VirtualUser> seed(ExecutorService pool, int users, int postsPerUser) throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<Future<VirtualUser>> futures = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            String username = "load-" + runId + "-" + i;
+            futures.add(pool.submit(() -> {
+                JsonNode auth = send("POST", "/api/auth/signup", null, Map.of(
+                        "username", username, "email", username + "@loadtest.local", "password", PASSWORD), null);
+                VirtualUser user = new VirtualUser(username, auth.get("accessToken").asString());
+                for (int created = 0; created < postsPerUser; created += 500) {
+                    List<Map<String, String>> batch = new ArrayList<>();
+                    for (int p = created; p < Math.min(postsPerUser, created + 500); p++) {
+                        batch.add(post(p));
+                    }
+                    for (JsonNode post : send("POST", "/api/posts/batch", user.token, batch, null)) {
+                        user.postIds.add(post.get("id").asLong());
+                    }
+                }
+                return user;
+            }));
+        }
+        List<VirtualUser> seeded = new ArrayList<>();
+        for (Future<VirtualUser> future : futures) {
+            seeded.add(future.get());
+        }
+        return seeded;
+    }
+
+    // Every worker owns a disjoint set of users, so post ids are never contended.
+    private List<Map<String, Samples>> drive(ExecutorService pool, List<VirtualUser> users, int concurrency,
+                                             Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Map<String, Samples>>> futures = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            List<VirtualUser> owned = new ArrayList<>();
+            for (int u = w; u < users.size(); u += concurrency) {
+                owned.add(users.get(u));
+            }
+            futures.add(pool.submit(() -> {
+                Map<String, Samples> samples = new LinkedHashMap<>();
+                while (System.nanoTime() < deadline) {
+                    VirtualUser user = owned.get(ThreadLocalRandom.current().nextInt(owned.size()));
+                    step(user, pickOperation(), samples);
+                }
+                return samples;
+            }));
+        }
+        List<Map<String, Samples>> results = new ArrayList<>();
+        for (Future<Map<String, Samples>> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    private void step(VirtualUser user, String operation, Map<String, Samples> samples) throws IOException, InterruptedException {
+        Samples sample = samples.computeIfAbsent(operation, k -> new Samples());
+        switch (operation) {
+            case "GET /api/posts" -> {
+                int page = ThreadLocalRandom.current().nextInt(3);
+                send("GET", "/api/posts?page=" + page + "&size=10", user.token, null, sample);
+            }
+            case "POST /api/posts" -> {
+                JsonNode created = send("POST", "/api/posts", user.token, post(user.postIds.size()), sample);
+                if (created != null && created.has("id")) {
+                    user.postIds.add(created.get("id").asLong());
+                }
+            }
+            case "PUT /api/posts/{id}" -> {
+                if (!user.postIds.isEmpty()) {
+                    long id = user.postIds.get(ThreadLocalRandom.current().nextInt(user.postIds.size()));
+                    send("PUT", "/api/posts/" + id, user.token, post((int) id), sample);
+                }
+            }
+            case "DELETE /api/posts/{id}" -> {
+                if (!user.postIds.isEmpty()) {
+                    long id = user.postIds.remove(ThreadLocalRandom.current().nextInt(user.postIds.size()));
+                    send("DELETE", "/api/posts/" + id, user.token, null, sample);
+                }
+            }
+            case "PUT /api/users/{id}" -> {
+                String email = user.username + "+" + ThreadLocalRandom.current().nextInt(1_000_000) + "@loadtest.local";
+                send("PUT", "/api/users/" + user.id(), user.token,
+                        Map.of("username", user.username, "email", email), sample);
+            }
+            case "POST /api/auth/login" -> {
+                JsonNode auth = send("POST", "/api/auth/login", null,
+                        Map.of("username", user.username, "password", PASSWORD), sample);
+                if (auth != null && auth.has("accessToken")) {
+                    user.token = auth.get("accessToken").asString();
+                }
+            }
+            default -> throw new IllegalStateException(operation);
+        }
+    }
+
+    /** Sends the request; returns the parsed body on 2xx, null otherwise. Records into sample when given. */
+    private JsonNode send(String method, String path, String token, Object body, Samples sample)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body)));
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+
+        long started = System.nanoTime();
+        HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        long elapsed = System.nanoTime() - started;
+
+        boolean ok = response.statusCode() < 400;
+        if (sample != null) {
+            sample.record(elapsed, ok);
+        } else if (!ok) {
+            throw new IllegalStateException(method + " " + path + " failed with " + response.statusCode()
+                    + ": " + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return ok && response.body().length > 0 ? json.readTree(response.body()) : null;
+    }
+
+    private boolean report(Map<String, Samples> results, double seconds) throws IOException {
+        double maxP99Ms = doubleOption("maxP99Ms", 0);
+        double maxErrorRate = doubleOption("maxErrorRate", 0);
+        boolean passed = true;
+
+        System.out.printf("%n%-26s %9s %8s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        Map<String, Object> report = new LinkedHashMap<>();
+        for (Map.Entry<String, Samples> entry : results.entrySet()) {
+            Samples samples = entry.getValue();
+            long[] sorted = samples.sorted();
+            double errorRate = sorted.length == 0 ? 0 : (double) samples.errors / sorted.length;
+            double p99 = percentileMs(sorted, 0.99);
+            System.out.printf("%-26s %9d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), sorted.length, samples.errors, sorted.length / seconds,
+                    percentileMs(sorted, 0.50), percentileMs(sorted, 0.90), p99, percentileMs(sorted, 1.0));
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", sorted.length);
+            row.put("errors", samples.errors);
+            row.put("throughput", sorted.length / seconds);
+            row.put("p50Ms", percentileMs(sorted, 0.50));
+            row.put("p90Ms", percentileMs(sorted, 0.90));
+            row.put("p99Ms", p99);
+            row.put("maxMs", percentileMs(sorted, 1.0));
+            report.put(entry.getKey(), row);
+
+            if (maxP99Ms > 0 && p99 > maxP99Ms) {
+                System.out.printf("FAIL %s p99 %.2f ms exceeds %.2f ms%n", entry.getKey(), p99, maxP99Ms);
+                passed = false;
+            }
+            if (options.containsKey("maxErrorRate") && errorRate > maxErrorRate) {
+                System.out.printf("FAIL %s error rate %.4f exceeds %.4f%n", entry.getKey(), errorRate, maxErrorRate);
+                passed = false;
+            }
+        }
+
+        Path out = Path.of(options.getOrDefault("report", "target/loadtest/report.json"));
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        Files.write(out, json.writerWithDefaultPrettyPrinter().writeValueAsBytes(report));
+        System.out.printf("%nReport written to %s%n", out.toAbsolutePath());
+        return passed;
+    }
+
+    private static Map<String, Samples> merge(List<Map<String, Samples>> perWorker) {
+        Map<String, Samples> merged = new LinkedHashMap<>();
+        MIX.keySet().forEach(operation -> merged.put(operation, new Samples()));
+        for (Map<String, Samples> samples : perWorker) {
+            samples.forEach((operation, s) -> merged.get(operation).addAll(s));
+        }
+        merged.values().removeIf(s -> s.size == 0);
+        return merged;
+    }
+
+    private static String pickOperation() {
+        int total = MIX.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<String, Integer> entry : MIX.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static Map<String, String> post(int n) {
+        return Map.of("title", "Load test post " + n,
+                "contents", "Generated body " + n + " " + "lorem ipsum dolor sit amet ".repeat(20));
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+
+    private double doubleOption(String name, double defaultValue) {
+        return Double.parseDouble(options.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+
+    private Duration durationOption(String name, String defaultValue) {
+        return Duration.parse("PT" + options.getOrDefault(name, defaultValue).toUpperCase());
+    }
+
+    private static final class VirtualUser {
+        private final String username;
+        private final List<Long> postIds = new ArrayList<>();
+        private volatile String token;
+
+        VirtualUser(String username, String token) {
+            this.username = username;
+            this.token = token;
+        }
+
+        // The user id travels in the token's uid claim.
+        long id() {
+            String payload = token.split("\\.")[1];
+            String claims = new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8);
+            int start = claims.indexOf("\"uid\":") + 6;
+            int end = start;
+            while (end < claims.length() && Character.isDigit(claims.charAt(end))) {
+                end++;
+            }
+            return Long.parseLong(claims.substring(start, end));
+        }
+    }
+
+    /** Latencies of one operation, in nanoseconds. Owned by a single worker until merged. */
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        void record(long elapsed, boolean ok) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = elapsed;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                record(other.nanos[i], true);
+            }
+            errors += other.errors;
+        }
+
+        long[] sorted() {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
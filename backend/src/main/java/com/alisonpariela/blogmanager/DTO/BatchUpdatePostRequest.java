@@ -0,0 +1,13 @@
+package com.alisonpariela.blogmanager.DTO;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class BatchUpdatePostRequest extends PostRequest {
+
+    @NotNull(message = "Post id is required")
+    private Long id;
+}
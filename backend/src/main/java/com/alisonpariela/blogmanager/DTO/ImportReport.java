@@ -0,0 +1,29 @@
+package com.alisonpariela.blogmanager.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportReport {
+    private long imported;
+    private long failed;
+    // Capped; failed always carries the full count.
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
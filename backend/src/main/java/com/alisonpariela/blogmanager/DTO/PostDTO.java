@@ -0,0 +1,28 @@
+package com.alisonpariela.blogmanager.DTO;
+
+import java.time.LocalDateTime;
+
+import com.alisonpariela.blogmanager.model.Post;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class PostDTO {
+    private Long id;
+    private String title;
+    private String contents;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastUpdatedAt;
+    private String author;
+
+    public static PostDTO from(Post post, String author) {
+        return new PostDTO(post.getId(), post.getTitle(), post.getContents(),
+                post.getCreatedAt(), post.getLastUpdatedAt(), author);
+    }
+}
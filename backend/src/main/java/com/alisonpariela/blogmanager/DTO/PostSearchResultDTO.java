@@ -0,0 +1,23 @@
+package com.alisonpariela.blogmanager.DTO;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class PostSearchResultDTO {
+    private Long id;
+    private String title;
+    // Matched terms are wrapped in <mark></mark>.
+    private String snippet;
+    private double rank;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastUpdatedAt;
+    private String author;
+}
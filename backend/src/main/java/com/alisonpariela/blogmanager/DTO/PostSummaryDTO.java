@@ -0,0 +1,24 @@
+package com.alisonpariela.blogmanager.DTO;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class PostSummaryDTO {
+    public static final int EXCERPT_LENGTH = 200;
+
+    private Long id;
+    private String title;
+    private String excerpt;
+    private Integer contentLength;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastUpdatedAt;
+    private String author;
+}
@@ -0,0 +1,133 @@
+package com.alisonpariela.blogmanager.availability;
+
+import com.alisonpariela.blogmanager.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Username and email availability for the signup form. A Bloom filter per field,
+ * built from the users table, answers "available" for names it has never seen;
+ * only possible positives are confirmed against the database.
+ * <p>
+ * Names are added before they are written, so the filters never miss a name
+ * taken through this node. Bloom filters cannot forget, so names freed by
+ * renames and deletions, as well as names taken through other nodes, are only
+ * picked up by the periodic rebuild; until then the former cost a query and the
+ * latter may read as available, which signup still rejects.
+ */
+@Slf4j
+@Service
+public class UserAvailabilityService implements SmartInitializingSingleton {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${user.availability.expected-users:100000}")
+    private long expectedUsers;
+
+    @Value("${user.availability.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile Filters current;
+    // Filters being rebuilt; additions made meanwhile go to both.
+    private volatile Filters next;
+
+    public UserAvailabilityService(UserRepository userRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Runs before the web server starts, so no request sees a half-built filter.
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+        Gauge.builder("user.availability.fill-ratio", this, service -> service.current.usernames().fillRatio())
+                .tag("field", "username")
+                .register(meterRegistry);
+        Gauge.builder("user.availability.fill-ratio", this, service -> service.current.emails().fillRatio())
+                .tag("field", "email")
+                .register(meterRegistry);
+    }
+
+    // Sized for the larger of the configured and the actual row count.
+    @Scheduled(fixedDelayString = "${user.availability.rebuild-interval:1h}",
+               initialDelayString = "${user.availability.rebuild-interval:1h}")
+    public void rebuild() {
+        long started = System.nanoTime();
+        long size = Math.max(expectedUsers, userRepository.count());
+        Filters filters = new Filters(BloomFilter.create(size, falsePositiveRate), BloomFilter.create(size, falsePositiveRate));
+        next = filters;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<UserRepository.IdentityView> users = userRepository.streamAllIdentities()) {
+                    users.forEach(user -> filters.add(user.getUsername(), user.getEmail()));
+                }
+            });
+            current = filters;
+        } finally {
+            next = null;
+        }
+        log.info("Built availability filters for {} users ({} bits, {} hashes each) in {} ms", size,
+                filters.usernames().bitCount(), filters.usernames().hashCount(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        return isAvailable("username", current.usernames(), username, userRepository::existsByUsername);
+    }
+
+    public boolean isEmailAvailable(String email) {
+        return isAvailable("email", current.emails(), email, userRepository::existsByEmail);
+    }
+
+    /** Records a username and email about to be written. */
+    public void add(String username, String email) {
+        current.add(username, email);
+        Filters rebuilding = next;
+        if (rebuilding != null) {
+            rebuilding.add(username, email);
+        }
+    }
+
+    private boolean isAvailable(String field, BloomFilter filter, String value, Predicate<String> exists) {
+        if (!filter.mightContain(value)) {
+            count(field, "filter");
+            return true;
+        }
+        count(field, "database");
+        return !exists.test(value);
+    }
+
+    private void count(String field, String source) {
+        Counter.builder("user.availability.checks")
+                .tag("field", field)
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+
+        void add(String username, String email) {
+            usernames.put(username);
+            emails.put(email);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.alisonpariela.blogmanager.cache;
+
+/**
+ * Broadcasts near-cache invalidations to the other nodes.
+ */
+public interface CacheInvalidationPublisher {
+
+    /**
+     * @param key the near-cache key, or null to clear the whole cache
+     */
+    void publish(String cacheName, String key);
+}
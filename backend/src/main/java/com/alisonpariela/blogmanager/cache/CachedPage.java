@@ -0,0 +1,33 @@
+package com.alisonpariela.blogmanager.cache;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Serializable form of a {@link Page}: just the rows and the total, which is
+ * all that is needed to rebuild the page for the request's {@link Pageable}.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class CachedPage<T> {
+    private List<T> content;
+    private long totalElements;
+
+    public static <T> CachedPage<T> of(Page<T> page) {
+        return new CachedPage<>(page.getContent(), page.getTotalElements());
+    }
+
+    public Page<T> toPage(Pageable pageable) {
+        return new PageImpl<>(content, pageable, totalElements);
+    }
+}
@@ -0,0 +1,91 @@
+package com.alisonpariela.blogmanager.cache;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-through cache for a user's post listings.
+ *
+ * Every key embeds the user's current version token, so a mutation only has to
+ * replace that token to orphan all of the user's cached pages at once. Orphaned
+ * entries age out through the cache TTL. Cache failures are logged and the
+ * loader result is served, so an unavailable Redis only costs latency.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostPageCache {
+
+    public static final String PAGES = "postPages";
+    public static final String SUMMARIES = "postSummaries";
+    public static final String FEED = "postFeed";
+    public static final String VERSIONS = "postVersions";
+
+    private final CacheManager cacheManager;
+
+    public <T> T get(String cacheName, Long userId, String pageKey, Supplier<T> loader) {
+        String key;
+        try {
+            key = userId + ":" + currentVersion(userId) + ":" + pageKey;
+            @SuppressWarnings("unchecked")
+            T cached = (T) cache(cacheName).get(key, Object.class);
+            if (cached != null) {
+                return cached;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Post cache read failed for {}, loading from database", cacheName, e);
+            return loader.get();
+        }
+
+        T value = loader.get();
+        try {
+            cache(cacheName).put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("Post cache write failed for {}", cacheName, e);
+        }
+        return value;
+    }
+
+    public String currentVersion(Long userId) {
+        Cache versions = cache(VERSIONS);
+        String version = versions.get(userId.toString(), String.class);
+        if (version == null) {
+            version = newVersion();
+            Cache.ValueWrapper existing = versions.putIfAbsent(userId.toString(), version);
+            if (existing != null) {
+                version = (String) existing.get();
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Replaces the user's version token. Inside a transaction the write is
+     * deferred until commit by the transaction-aware cache manager.
+     */
+    public void invalidate(Long userId) {
+        try {
+            cache(VERSIONS).put(userId.toString(), newVersion());
+        } catch (RuntimeException e) {
+            log.warn("Post cache invalidation failed for user {}", userId, e);
+        }
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), name);
+    }
+
+    // Random rather than incremented, so two concurrent bumps can never
+    // collapse into the same token.
+    private static String newVersion() {
+        return Long.toHexString(ThreadLocalRandom.current().nextLong());
+    }
+}
@@ -0,0 +1,53 @@
+package com.alisonpariela.blogmanager.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis pub/sub channel that keeps near caches coherent across replicas.
+ * Messages are "node|cache|key", or "node|cache" to clear a cache, and each
+ * node ignores its own messages.
+ */
+@Slf4j
+public class RedisCacheInvalidationBus implements CacheInvalidationPublisher, MessageListener {
+
+    public static final String CHANNEL = "cache:invalidate";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private TwoTierCacheManager cacheManager;
+
+    public RedisCacheInvalidationBus(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public void setCacheManager(TwoTierCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void publish(String cacheName, String key) {
+        String message = nodeId + '|' + cacheName + (key == null ? "" : '|' + key);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (RuntimeException e) {
+            // Other nodes fall back to their near-cache TTL.
+            log.warn("Could not publish invalidation for cache {}", cacheName, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length < 2 || nodeId.equals(parts[0]) || cacheManager == null) {
+            return;
+        }
+        cacheManager.evictNear(parts[1], parts.length == 3 ? parts[2] : null);
+    }
+}
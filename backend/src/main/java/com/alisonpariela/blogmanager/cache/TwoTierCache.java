@@ -0,0 +1,214 @@
+package com.alisonpariela.blogmanager.cache;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Near cache in front of a shared one. Reads try the in-process Caffeine tier
+ * first and fall back to Redis, promoting hits into the near tier. Writes go to
+ * both tiers and tell other nodes to drop their near copy of the key.
+ *
+ * Without a shared tier the cache is local only. Shared-tier failures are
+ * logged and treated as misses, so an unavailable Redis only costs latency.
+ */
+@Slf4j
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> near;
+    private final Cache shared;
+    private final CacheInvalidationPublisher publisher;
+    private final boolean publishOnPut;
+
+    private final Counter nearHits;
+    private final Counter nearMisses;
+    private final Counter sharedHits;
+    private final Counter sharedMisses;
+
+    /**
+     * @param publishOnPut false for caches whose keys are never rewritten with a
+     *                     different value, so a put cannot leave a stale near copy
+     */
+    public TwoTierCache(String name,
+                        com.github.benmanes.caffeine.cache.Cache<String, Object> near,
+                        Cache shared,
+                        CacheInvalidationPublisher publisher,
+                        boolean publishOnPut,
+                        MeterRegistry meterRegistry) {
+        this.name = name;
+        this.near = near;
+        this.shared = shared;
+        this.publisher = publisher;
+        this.publishOnPut = publishOnPut;
+        this.nearHits = counter(meterRegistry, "near", "hit");
+        this.nearMisses = counter(meterRegistry, "near", "miss");
+        this.sharedHits = counter(meterRegistry, "shared", "hit");
+        this.sharedMisses = counter(meterRegistry, "shared", "miss");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return near;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = lookup(key);
+        return value == null ? null : new SimpleValueWrapper(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        Object value = lookup(key);
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (value != null) {
+            return (T) value;
+        }
+        try {
+            T loaded = valueLoader.call();
+            if (loaded != null) {
+                put(key, loaded);
+            }
+            return loaded;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (shared != null) {
+            try {
+                shared.put(key, value);
+            } catch (RuntimeException e) {
+                log.warn("Shared cache put failed for {}: {}", name, e.getMessage());
+            }
+        }
+        near.put(nearKey(key), value);
+        if (publishOnPut) {
+            publish(key);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (shared == null) {
+            Object existing = near.asMap().putIfAbsent(nearKey(key), value);
+            return existing == null ? null : new SimpleValueWrapper(existing);
+        }
+        ValueWrapper existing;
+        try {
+            existing = shared.putIfAbsent(key, value);
+        } catch (RuntimeException e) {
+            log.warn("Shared cache putIfAbsent failed for {}: {}", name, e.getMessage());
+            existing = null;
+        }
+        near.put(nearKey(key), existing != null ? existing.get() : value);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (shared != null) {
+            try {
+                shared.evict(key);
+            } catch (RuntimeException e) {
+                log.warn("Shared cache evict failed for {}, entry lives until its TTL: {}", name, e.getMessage());
+            }
+        }
+        near.invalidate(nearKey(key));
+        publish(key);
+    }
+
+    @Override
+    public void clear() {
+        if (shared != null) {
+            try {
+                shared.clear();
+            } catch (RuntimeException e) {
+                log.warn("Shared cache clear failed for {}: {}", name, e.getMessage());
+            }
+        }
+        near.invalidateAll();
+        publish(null);
+    }
+
+    /**
+     * Drops a near entry after another node changed it. A null key clears the tier.
+     */
+    public void evictNear(String key) {
+        if (key == null) {
+            near.invalidateAll();
+        } else {
+            near.invalidate(key);
+        }
+    }
+
+    private Object lookup(Object key) {
+        String nearKey = nearKey(key);
+        Object value = near.getIfPresent(nearKey);
+        if (value != null) {
+            nearHits.increment();
+            return value;
+        }
+        nearMisses.increment();
+        if (shared == null) {
+            return null;
+        }
+
+        ValueWrapper wrapper;
+        try {
+            wrapper = shared.get(key);
+        } catch (RuntimeException e) {
+            log.warn("Shared cache get failed for {}: {}", name, e.getMessage());
+            wrapper = null;
+        }
+        if (wrapper == null || wrapper.get() == null) {
+            sharedMisses.increment();
+            return null;
+        }
+        sharedHits.increment();
+        near.put(nearKey, wrapper.get());
+        return wrapper.get();
+    }
+
+    private void publish(Object key) {
+        if (publisher != null) {
+            publisher.publish(name, key == null ? null : nearKey(key));
+        }
+    }
+
+    private static String nearKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private Counter counter(MeterRegistry registry, String tier, String result) {
+        return Counter.builder("cache.tier.gets")
+                .description("Two-tier cache lookups per tier")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,33 @@
+package com.alisonpariela.blogmanager.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+
+/**
+ * Fixed set of {@link TwoTierCache}s; unknown cache names resolve to null.
+ */
+public class TwoTierCacheManager extends AbstractCacheManager {
+
+    private final List<TwoTierCache> caches = new ArrayList<>();
+
+    public TwoTierCacheManager addCache(TwoTierCache cache) {
+        caches.add(cache);
+        return this;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return caches;
+    }
+
+    public void evictNear(String cacheName, String key) {
+        Cache cache = lookupCache(cacheName);
+        if (cache instanceof TwoTierCache) {
+            ((TwoTierCache) cache).evictNear(key);
+        }
+    }
+}
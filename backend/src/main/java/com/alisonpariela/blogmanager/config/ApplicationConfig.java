@@ -1,14 +1,23 @@
  package com.alisonpariela.blogmanager.config;
 
+import com.alisonpariela.blogmanager.model.User;
 import com.alisonpariela.blogmanager.repository.UserRepository;
+import com.alisonpariela.blogmanager.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -19,16 +28,45 @@ public class ApplicationConfig {
 
     private final UserRepository repository;
 
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    // 0 = half the available cores
+    @Value("${security.password.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${security.password.hash-queue-capacity:64}")
+    private int hashQueueCapacity;
+
     @Bean
-    public UserDetailsService userDetailsService() {
-        return username -> repository.findByUsername(username)
+    public UserDetailsService userDetailsService(ObjectProvider<MeterRegistry> meterRegistry) {
+        Timer lookups = Timer.builder("user.lookup")
+                .tag("source", "login")
+                .register(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        // Deleted accounts awaiting purge are treated as unknown: the provider then hashes against
+        // a dummy password as for any unknown name, instead of failing fast on the disabled flag.
+        return username -> lookups.record(() -> repository.findByUsername(username))
+                .filter(User::isEnabled)
                 .orElseThrow(() -> new UsernameNotFoundException(String.format("User not found %s", username)));
     }
 
+    // Stored hashes below the configured strength are rehashed after a successful login.
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (user, newPassword) -> repository.findByUsername(user.getUsername())
+                .map(stored -> {
+                    stored.setPassword(newPassword);
+                    return (UserDetails) repository.save(stored);
+                })
+                .orElse(user);
+    }
+
     @Bean
-    public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                         PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return authProvider;
     }
 
@@ -38,7 +76,9 @@ public class ApplicationConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(ObjectProvider<MeterRegistry> meterRegistry) {
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), threads, hashQueueCapacity,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
     }
 }
@@ -0,0 +1,171 @@
+package com.alisonpariela.blogmanager.config;
+
+import com.alisonpariela.blogmanager.DTO.CursorPage;
+import com.alisonpariela.blogmanager.DTO.PostDTO;
+import com.alisonpariela.blogmanager.DTO.PostSummaryDTO;
+import com.alisonpariela.blogmanager.cache.CachedPage;
+import com.alisonpariela.blogmanager.cache.PostPageCache;
+import com.alisonpariela.blogmanager.cache.RedisCacheInvalidationBus;
+import com.alisonpariela.blogmanager.cache.TwoTierCache;
+import com.alisonpariela.blogmanager.cache.TwoTierCacheManager;
+import com.alisonpariela.blogmanager.security.UserPrincipal;
+import com.alisonpariela.blogmanager.security.UserPrincipalService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.thread.Threading;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.type.TypeFactory;
+
+/**
+ * Every cache is a {@link TwoTierCache}: a Caffeine near tier per node and, when
+ * cache.redis.enabled is set, a shared Redis tier with pub/sub invalidation.
+ * Without Redis the near tier is the whole cache, which also serves as the
+ * offline stand-in for local runs and tests.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Value("${cache.principals.ttl:5m}")
+    private Duration principalsTtl;
+
+    @Value("${cache.principals.max-size:10000}")
+    private long principalsMaxSize;
+
+    @Value("${cache.redis.enabled:false}")
+    private boolean redisEnabled;
+
+    @Value("${cache.posts.ttl:10m}")
+    private Duration postsTtl;
+
+    @Value("${cache.posts.max-size:10000}")
+    private long postsMaxSize;
+
+    // Bounds how long a near copy of a mutable entry can outlive a lost invalidation.
+    @Value("${cache.near.ttl:30s}")
+    private Duration nearTtl;
+
+    @Bean
+    public TwoTierCacheManager twoTierCacheManager(ObjectProvider<RedisConnectionFactory> redisConnectionFactory,
+                                                   ObjectProvider<RedisCacheInvalidationBus> invalidationBus,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        RedisCacheInvalidationBus bus = invalidationBus.getIfAvailable();
+        RedisCacheManager shared = redisEnabled ? redisCacheManager(redisConnectionFactory.getObject()) : null;
+
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager();
+        // Keys of mutable entries are rewritten in place, so puts are broadcast.
+        cacheManager.addCache(cache(UserPrincipalService.CACHE_NAME, principalsTtl, principalsMaxSize, true, shared, bus, registry));
+        cacheManager.addCache(cache(PostPageCache.VERSIONS, postsTtl, postsMaxSize, true, shared, bus, registry));
+        // Page keys embed the version token, so a key never maps to a different value.
+        cacheManager.addCache(cache(PostPageCache.PAGES, postsTtl, postsMaxSize, false, shared, bus, registry));
+        cacheManager.addCache(cache(PostPageCache.SUMMARIES, postsTtl, postsMaxSize, false, shared, bus, registry));
+        cacheManager.addCache(cache(PostPageCache.FEED, postsTtl, postsMaxSize, false, shared, bus, registry));
+
+        if (bus != null) {
+            bus.setCacheManager(cacheManager);
+        }
+        return cacheManager;
+    }
+
+    // Evictions issued inside a transaction are deferred until it commits, so the
+    // cache is not cleared while the old row is still visible to other readers.
+    @Bean
+    @Primary
+    public CacheManager cacheManager(TwoTierCacheManager twoTierCacheManager) {
+        return new TransactionAwareCacheManagerProxy(twoTierCacheManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "true")
+    public RedisCacheInvalidationBus cacheInvalidationBus(StringRedisTemplate redisTemplate) {
+        return new RedisCacheInvalidationBus(redisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "true")
+    public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                   RedisCacheInvalidationBus invalidationBus,
+                                                                   Environment environment) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("cache-invalidation-");
+            executor.setVirtualThreads(true);
+            container.setTaskExecutor(executor);
+        }
+        container.addMessageListener(invalidationBus, new ChannelTopic(RedisCacheInvalidationBus.CHANNEL));
+        return container;
+    }
+
+    private TwoTierCache cache(String name, Duration ttl, long maxSize, boolean mutable,
+                               RedisCacheManager shared, RedisCacheInvalidationBus bus, MeterRegistry registry) {
+        Cache sharedTier = shared != null ? shared.getCache(name) : null;
+        Duration nearTierTtl = sharedTier != null && mutable && nearTtl.compareTo(ttl) < 0 ? nearTtl : ttl;
+        return new TwoTierCache(name,
+                Caffeine.newBuilder().expireAfterWrite(nearTierTtl).maximumSize(maxSize).build(),
+                sharedTier,
+                sharedTier != null ? bus : null,
+                mutable,
+                registry);
+    }
+
+    // Each Redis cache gets a serializer bound to its value type, so entries are
+    // plain JSON without embedded class names.
+    private RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
+        TypeFactory types = TypeFactory.createDefaultInstance();
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .disableCreateOnMissingCache()
+                .withCacheConfiguration(UserPrincipalService.CACHE_NAME,
+                        redisCache(principalsTtl, json(types.constructType(UserPrincipal.class))))
+                .withCacheConfiguration(PostPageCache.VERSIONS,
+                        redisCache(postsTtl, RedisSerializer.string()))
+                .withCacheConfiguration(PostPageCache.PAGES,
+                        redisCache(postsTtl, json(types.constructParametricType(CachedPage.class, PostDTO.class))))
+                .withCacheConfiguration(PostPageCache.SUMMARIES,
+                        redisCache(postsTtl, json(types.constructParametricType(CachedPage.class, PostSummaryDTO.class))))
+                .withCacheConfiguration(PostPageCache.FEED,
+                        redisCache(postsTtl, json(types.constructParametricType(CursorPage.class, PostDTO.class))))
+                .build();
+        redisCacheManager.afterPropertiesSet();
+        return redisCacheManager;
+    }
+
+    private static RedisCacheConfiguration redisCache(Duration ttl, RedisSerializer<?> serializer) {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(ttl)
+                .disableCachingNullValues()
+                .serializeValuesWith(SerializationPair.fromSerializer(serializer));
+    }
+
+    private static RedisSerializer<Object> json(JavaType type) {
+        return new JacksonJsonRedisSerializer<>(type);
+    }
+}
@@ -0,0 +1,97 @@
+package com.alisonpariela.blogmanager.config;
+
+import com.alisonpariela.blogmanager.filter.SqlStatementCountFilter;
+import com.alisonpariela.blogmanager.metrics.CountingJdbcTemplate;
+import com.alisonpariela.blogmanager.metrics.SqlBudget;
+import com.alisonpariela.blogmanager.metrics.SqlStatementCounter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Request timings come from Boot's http.server.requests; this adds the per-request
+ * SQL statement count and its per-route budget. Meters are tagged with route templates and small fixed
+ * value sets only, never usernames or ids, and the uri tag is capped as a backstop.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final int MAX_URI_TAGS = 100;
+
+    // 0 = no budget for routes not listed below
+    @Value("${sql.budget.default:0}")
+    private int defaultSqlBudget;
+
+    // "METHOD /route/template=max" pairs, comma separated
+    @Value("${sql.budget.routes:}")
+    private String routeSqlBudgets;
+
+    @Value("${sql.budget.fail-on-exceed:false}")
+    private boolean failOnSqlBudget;
+
+    @Bean
+    public SqlBudget sqlBudget() {
+        return new SqlBudget(defaultSqlBudget, SqlBudget.parseRoutes(routeSqlBudgets), failOnSqlBudget);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountFilter> sqlStatementCountFilter(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                                   SqlBudget sqlBudget) {
+        FilterRegistrationBean<SqlStatementCountFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatementCountFilter(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), sqlBudget));
+        registration.addUrlPatterns("/api/*");
+        // Inside the concurrency limiter, so rejected requests are not counted.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    // Replaces Boot's JdbcTemplate, and so backs its NamedParameterJdbcTemplate too.
+    @Bean
+    public JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        return new CountingJdbcTemplate(dataSource);
+    }
+
+    // Separates the statements of the handler from those of the filters in front of it.
+    @Bean
+    public WebMvcConfigurer sqlHandlerMarker() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new HandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                        SqlStatementCounter.markHandlerStart();
+                        return true;
+                    }
+                }).addPathPatterns("/api/**");
+            }
+        };
+    }
+
+    @Bean
+    public MeterFilter sqlStatementUriTagLimit() {
+        return MeterFilter.maximumAllowableTags(SqlStatementCountFilter.METRIC, "uri", MAX_URI_TAGS, MeterFilter.deny());
+    }
+
+    @Bean
+    public MeterFilter sqlOverBudgetUriTagLimit() {
+        return MeterFilter.maximumAllowableTags(SqlStatementCountFilter.OVER_BUDGET_METRIC, "uri", MAX_URI_TAGS, MeterFilter.deny());
+    }
+}
@@ -0,0 +1,86 @@
+package com.alisonpariela.blogmanager.config;
+
+import com.alisonpariela.blogmanager.filter.AuthRateLimitFilter;
+import com.alisonpariela.blogmanager.ratelimit.LocalRateLimiter;
+import com.alisonpariela.blogmanager.ratelimit.RateLimiter;
+import com.alisonpariela.blogmanager.ratelimit.RedisRateLimiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+
+/**
+ * Token buckets for the auth endpoints, kept in Redis when
+ * rate-limit.auth.store=redis so every replica enforces the same budget, and in
+ * process otherwise. The filter runs inside the security chain, ahead of JWT
+ * authentication.
+ */
+@Configuration
+@ConditionalOnProperty(name = "rate-limit.auth.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Value("${rate-limit.auth.store:memory}")
+    private String store;
+
+    @Value("${rate-limit.auth.address.capacity:30}")
+    private int addressCapacity;
+
+    @Value("${rate-limit.auth.address.period:1m}")
+    private Duration addressPeriod;
+
+    @Value("${rate-limit.auth.username.capacity:5}")
+    private int usernameCapacity;
+
+    @Value("${rate-limit.auth.username.period:1m}")
+    private Duration usernamePeriod;
+
+    @Value("${rate-limit.auth.local.max-keys:100000}")
+    private long localMaxKeys;
+
+    @Value("${rate-limit.auth.redis-retry-after:5s}")
+    private Duration redisRetryAfter;
+
+    @Bean
+    public RateLimiter authRateLimiter(ObjectProvider<StringRedisTemplate> redisTemplate,
+                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        // A bucket idle for its whole period is full again and can be dropped.
+        Duration idleExpiry = addressPeriod.compareTo(usernamePeriod) > 0 ? addressPeriod : usernamePeriod;
+        LocalRateLimiter local = new LocalRateLimiter(localMaxKeys, idleExpiry);
+        if (!"redis".equals(store)) {
+            return local;
+        }
+        return new RedisRateLimiter(redisTemplate.getObject(), local, redisRetryAfter,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Bean
+    public AuthRateLimitFilter authRateLimitFilter(RateLimiter authRateLimiter,
+                                                   JsonMapper jsonMapper,
+                                                   @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new AuthRateLimitFilter(authRateLimiter,
+                addressCapacity, addressPeriod, usernameCapacity, usernamePeriod,
+                jsonMapper, exceptionResolver, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    // Registered in the security chain only, not as a servlet filter of its own.
+    @Bean
+    public FilterRegistrationBean<AuthRateLimitFilter> authRateLimitFilterRegistration(AuthRateLimitFilter authRateLimitFilter) {
+        FilterRegistrationBean<AuthRateLimitFilter> registration = new FilterRegistrationBean<>(authRateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
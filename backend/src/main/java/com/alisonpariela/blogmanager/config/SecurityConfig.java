@@ -1,11 +1,16 @@
 package com.alisonpariela.blogmanager.config;
 
 import com.alisonpariela.blogmanager.repository.UserRepository;
+import com.alisonpariela.blogmanager.filter.AuthRateLimitFilter;
 import com.alisonpariela.blogmanager.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Arrays;
 
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -31,6 +36,13 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final AuthenticationProvider authenticationProvider;
+    private final ObjectProvider<AuthRateLimitFilter> authRateLimitFilter;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.server.port:-1}")
+    private int managementPort;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -42,6 +54,9 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**").permitAll()
+                .requestMatchers("/actuator/health/**").permitAll()
+                // Metrics are anonymous only on a separate management port; on the API port they need a token.
+                .requestMatchers(this::isManagementScrape).permitAll()
                 .anyRequest().authenticated()
             )
 
@@ -51,9 +66,16 @@ public class SecurityConfig {
             .authenticationProvider(authenticationProvider)
 
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+            authRateLimitFilter.ifAvailable(filter -> http.addFilterBefore(filter, JwtAuthenticationFilter.class));
             return http.build();
     }
 
+    private boolean isManagementScrape(HttpServletRequest request) {
+        return managementPort > 0 && managementPort != serverPort
+                && request.getLocalPort() == managementPort
+                && "/actuator/prometheus".equals(request.getRequestURI());
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -0,0 +1,64 @@
+package com.alisonpariela.blogmanager.config;
+
+import com.alisonpariela.blogmanager.filter.ConcurrencyLimitFilter;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Virtual threads are switched on with spring.threads.virtual.enabled, which Boot
+ * applies to Tomcat and its task executors on Java 21+. The request limiter
+ * below follows that switch by default and keeps the number of requests
+ * competing for JDBC connections proportional to the Hikari pool.
+ */
+@Slf4j
+@Configuration
+public class ThreadingConfig {
+
+    private static final int REQUESTS_PER_CONNECTION = 4;
+
+    @Value("${server.concurrency-limit.enabled:${spring.threads.virtual.enabled:false}}")
+    private boolean limitEnabled;
+
+    // 0 = REQUESTS_PER_CONNECTION x the Hikari pool size
+    @Value("${server.concurrency-limit.max-concurrent:0}")
+    private int maxConcurrent;
+
+    @Value("${server.concurrency-limit.acquire-timeout:1s}")
+    private Duration acquireTimeout;
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(DataSource dataSource,
+                                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        int limit = maxConcurrent > 0 ? maxConcurrent : REQUESTS_PER_CONNECTION * poolSize(dataSource);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limit, acquireTimeout, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setEnabled(limitEnabled);
+        if (limitEnabled) {
+            log.info("Limiting concurrent API requests to {}", limit);
+        }
+        return registration;
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari.getMaximumPoolSize();
+        }
+        return 10;
+    }
+}
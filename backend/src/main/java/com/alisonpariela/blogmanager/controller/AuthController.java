@@ -5,10 +5,13 @@ import com.alisonpariela.blogmanager.DTO.AuthResponse;
 import com.alisonpariela.blogmanager.DTO.LoginRequest;
 import com.alisonpariela.blogmanager.DTO.RegisterRequest;
 
+import com.alisonpariela.blogmanager.availability.UserAvailabilityService;
+
 import com.alisonpariela.blogmanager.service.AuthService;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -22,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final UserAvailabilityService userAvailabilityService;
 
     @PostMapping("/signup")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
@@ -38,6 +42,23 @@ public class AuthController {
         return ResponseEntity.ok(authService.refreshToken(refreshToken));
     }
 
+    // Backs the signup form's as-you-type check; answers for whichever fields are given.
+    @GetMapping("/available")
+    public ResponseEntity<Map<String, Boolean>> available(@RequestParam(required = false) String username,
+                                                          @RequestParam(required = false) String email) {
+        if (username == null && email == null) {
+            throw new IllegalArgumentException("Provide a username or an email");
+        }
+        Map<String, Boolean> availability = new LinkedHashMap<>();
+        if (username != null) {
+            availability.put("username", userAvailabilityService.isUsernameAvailable(username));
+        }
+        if (email != null) {
+            availability.put("email", userAvailabilityService.isEmailAvailable(email));
+        }
+        return ResponseEntity.ok(availability);
+    }
+
     @GetMapping("/me")
     public ResponseEntity<?> getCurrentUser(@AuthenticationPrincipal UserDetails userDetails) {
         return ResponseEntity.ok(Map.of(
@@ -1,20 +1,38 @@
 package com.alisonpariela.blogmanager.controller;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import com.alisonpariela.blogmanager.model.Post;
+import com.alisonpariela.blogmanager.DTO.BatchUpdatePostRequest;
+import com.alisonpariela.blogmanager.DTO.CursorPage;
+import com.alisonpariela.blogmanager.DTO.ImportReport;
+import com.alisonpariela.blogmanager.DTO.PostDTO;
+import com.alisonpariela.blogmanager.DTO.PostRequest;
+import com.alisonpariela.blogmanager.DTO.PostSearchResultDTO;
+import com.alisonpariela.blogmanager.service.PostETags;
+import com.alisonpariela.blogmanager.service.PostImportService;
+import com.alisonpariela.blogmanager.service.PostSearchService;
 import com.alisonpariela.blogmanager.service.PostService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -26,47 +44,122 @@ import lombok.AllArgsConstructor;
 @RestController
 @RequestMapping("/api/posts")
 public class PostsController {
+    private static final int MAX_FEED_SIZE = 100;
+    // Lets browsers keep responses but revalidate them with If-None-Match every time.
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final PostService postService;
+    private final PostImportService postImportService;
+    private final PostSearchService postSearchService;
 
     @GetMapping
-    public ResponseEntity<Page<Post>> getMyPosts(
+    public ResponseEntity<Page<?>> getMyPosts(
         @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC)
-        Pageable pageable
+        Pageable pageable,
+        @RequestParam(defaultValue = "full") String view,
+        WebRequest webRequest
     ){
-        Page<Post> posts = postService.getUserPosts(pageable);
-        return ResponseEntity.ok(posts);
+        String etag = postService.getUserPostsETag(pageable, view);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE);
+        if ("summary".equals(view)) {
+            return ok.body(postService.getUserPostSummaries(pageable));
+        }
+        Page<PostDTO> posts = postService.getUserPosts(pageable);
+        return ok.body(posts);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Page<PostSearchResultDTO>> searchMyPosts(
+        @RequestParam String q,
+        @PageableDefault(size = 10) Pageable pageable
+    ){
+        return ResponseEntity.ok(postSearchService.search(q, pageable));
+    }
+
+    @GetMapping("/export")
+    public void exportMyPosts(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"posts.ndjson\"");
+        postService.exportUserPosts(response.getOutputStream());
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ImportReport> importPostsNdjson(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(postImportService.importNdjson(request.getInputStream()));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportReport> importPostsCsv(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(postImportService.importCsv(request.getInputStream()));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PostDTO> getPost(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String etag = postService.getPostETag(id);
+            if (etag != null && webRequest.checkNotModified(etag)) {
+                return null;
+            }
+        }
+        PostDTO post = postService.getPost(id);
+        return ResponseEntity.ok().eTag(PostETags.post(post)).cacheControl(REVALIDATE).body(post);
+    }
+
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPage<PostDTO>> getMyPostsFeed(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "10") int size,
+        WebRequest webRequest
+    ){
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_SIZE));
+        String etag = postService.getUserPostsAfterETag(cursor, pageSize);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE)
+                .body(postService.getUserPostsAfter(cursor, pageSize));
     }
     
     @PostMapping
-    public ResponseEntity<Post> createPost(@Valid @RequestBody PostRequest request) {
-        Post created = postService.createPost(request.getTitle(), request.getContents());
-        return ResponseEntity.ok(created);
+    public ResponseEntity<PostDTO> createPost(@Valid @RequestBody PostRequest request) {
+        PostDTO created = postService.createPost(request.getTitle(), request.getContents());
+        return ResponseEntity.ok().eTag(PostETags.post(created)).body(created);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Post> updatePost(
+    public ResponseEntity<PostDTO> updatePost(
             @PathVariable Long id,
-            @Valid @RequestBody PostRequest request
+            @Valid @RequestBody PostRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        Post updated = postService.updatePost(id, request.getTitle(), request.getContents());
-        return ResponseEntity.ok(updated);
+        PostDTO updated = postService.updatePost(id, request.getTitle(), request.getContents(), ifMatch);
+        return ResponseEntity.ok().eTag(PostETags.post(updated)).body(updated);
     }
 
-    @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deletePost(@PathVariable Long id) {
-        postService.deletePost(id);
-        return ResponseEntity.noContent().build();
+    @PostMapping("/batch")
+    public ResponseEntity<List<PostDTO>> createPosts(@RequestBody List<@Valid PostRequest> requests) {
+        return ResponseEntity.ok(postService.createPosts(requests));
     }
 
-    public static class PostRequest {
-        private String title;
-        private String contents;
+    @PutMapping("/batch")
+    public ResponseEntity<List<PostDTO>> updatePosts(@RequestBody List<@Valid BatchUpdatePostRequest> requests) {
+        return ResponseEntity.ok(postService.updatePosts(requests));
+    }
 
-        public String getTitle() { return title; }
-        public void setTitle(String title) { this.title = title; }
+    @DeleteMapping("/batch")
+    public ResponseEntity<Void> deletePosts(@RequestBody List<Long> ids) {
+        postService.deletePosts(ids);
+        return ResponseEntity.noContent().build();
+    }
 
-        public String getContents() { return contents; }
-        public void setContents(String contents) { this.contents = contents; }
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deletePost(@PathVariable Long id) {
+        postService.deletePost(id);
+        return ResponseEntity.noContent().build();
     }
 
 }
@@ -0,0 +1,28 @@
+package com.alisonpariela.blogmanager.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.util.Locale;
+
+/**
+ * Names the database constraint behind a persistence exception, so unique keys
+ * can stand in for exists-checks and still report which value was taken.
+ */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * The violated constraint found in the cause chain, lowercased as some
+     * databases report names in upper case, or "" when there is none.
+     */
+    public static String name(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        return "";
+    }
+}
@@ -0,0 +1,12 @@
+package com.alisonpariela.blogmanager.exception;
+
+/**
+ * A conditional request whose precondition no longer holds, e.g. an If-Match
+ * ETag for a post that has since changed; mapped to 412.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.alisonpariela.blogmanager.exception;
+
+/**
+ * Raised in fail-on-exceed mode when a request issues more SQL statements than
+ * its route's budget, so tests catch query regressions as a 500.
+ */
+public class SqlBudgetExceededException extends IllegalStateException {
+
+    public SqlBudgetExceededException(String route, int statements, int budget) {
+        super(String.format("%s issued %d SQL statements, budget is %d", route, statements, budget));
+    }
+}
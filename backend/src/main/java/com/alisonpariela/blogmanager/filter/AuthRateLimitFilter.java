@@ -0,0 +1,205 @@
+package com.alisonpariela.blogmanager.filter;
+
+import com.alisonpariela.blogmanager.exception.TooManyRequestsException;
+import com.alisonpariela.blogmanager.ratelimit.RateLimit;
+import com.alisonpariela.blogmanager.ratelimit.RateLimiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the unauthenticated auth endpoints, including the availability
+ * check that reveals whether an account exists, before any password hashing or
+ * user lookup happens. Every call is charged to the client address; login and
+ * signup are also charged to the username in the body, which catches attempts
+ * on one account spread over many addresses. Rejections go through the regular
+ * exception handling as {@link TooManyRequestsException}.
+ * <p>
+ * The address is the servlet remote address, so behind a proxy or load balancer
+ * server.forward-headers-strategy must be set; otherwise every client shares
+ * the balancer's bucket.
+ */
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    // Auth bodies are small; larger ones are refused rather than let past the username bucket.
+    private static final int MAX_PARSED_BODY = 8 * 1024;
+
+    private static final Map<String, String> ENDPOINTS = Map.of(
+            "POST /api/auth/login", "login",
+            "POST /api/auth/signup", "signup",
+            "POST /api/auth/refresh", "refresh",
+            "GET /api/auth/available", "available");
+
+    // Bodies carrying a username that is charged its own bucket.
+    private static final Set<String> USERNAME_ENDPOINTS = Set.of("login", "signup");
+
+    private final RateLimiter rateLimiter;
+    private final int addressCapacity;
+    private final Duration addressPeriod;
+    private final int usernameCapacity;
+    private final Duration usernamePeriod;
+    private final JsonMapper jsonMapper;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final MeterRegistry registry;
+
+    public AuthRateLimitFilter(RateLimiter rateLimiter,
+                               int addressCapacity, Duration addressPeriod,
+                               int usernameCapacity, Duration usernamePeriod,
+                               JsonMapper jsonMapper,
+                               HandlerExceptionResolver exceptionResolver,
+                               MeterRegistry registry) {
+        this.rateLimiter = rateLimiter;
+        this.addressCapacity = addressCapacity;
+        this.addressPeriod = addressPeriod;
+        this.usernameCapacity = usernameCapacity;
+        this.usernamePeriod = usernamePeriod;
+        this.jsonMapper = jsonMapper;
+        this.exceptionResolver = exceptionResolver;
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !ENDPOINTS.containsKey(endpointKey(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String endpoint = ENDPOINTS.get(endpointKey(request));
+        List<RateLimit> limits = new ArrayList<>(2);
+        // Availability checks come with every keystroke on the signup form; their own address
+        // bucket keeps them from using up the login budget while still bounding enumeration.
+        String addressKey = "available".equals(endpoint) ? "ratelimit:auth:available:addr:" : "ratelimit:auth:addr:";
+        limits.add(new RateLimit(addressKey + request.getRemoteAddr(), addressCapacity, addressPeriod));
+
+        HttpServletRequest forwarded = request;
+        boolean oversized = false;
+        if (USERNAME_ENDPOINTS.contains(endpoint)) {
+            // Read whatever the framing, so chunked bodies without a Content-Length are charged too.
+            byte[] body = request.getInputStream().readNBytes(MAX_PARSED_BODY + 1);
+            oversized = body.length > MAX_PARSED_BODY;
+            forwarded = new CachedBodyRequest(request, body);
+            String username = oversized ? null : username(body);
+            if (username != null) {
+                limits.add(new RateLimit("ratelimit:auth:user:" + username, usernameCapacity, usernamePeriod));
+            }
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(limits);
+        if (waitNanos > 0) {
+            Counter.builder("auth.ratelimit.rejected").tag("endpoint", endpoint).register(registry).increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            exceptionResolver.resolveException(request, response, null,
+                    new TooManyRequestsException("Too many attempts, please retry later", retryAfter));
+            return;
+        }
+        if (oversized) {
+            exceptionResolver.resolveException(request, response, null,
+                    new IllegalArgumentException("Request body exceeds " + MAX_PARSED_BODY + " bytes"));
+            return;
+        }
+        filterChain.doFilter(forwarded, response);
+    }
+
+    private String username(byte[] body) {
+        try {
+            JsonNode username = jsonMapper.readTree(body).path("username");
+            return username.isString() && !username.asString().isBlank()
+                    ? username.asString().trim().toLowerCase(Locale.ROOT)
+                    : null;
+        } catch (JacksonException e) {
+            // Malformed bodies are rejected by the controller.
+            return null;
+        }
+    }
+
+    private static String endpointKey(HttpServletRequest request) {
+        return request.getMethod() + " " + request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /** Replays a body that has already been read. */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so it is available at once.
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
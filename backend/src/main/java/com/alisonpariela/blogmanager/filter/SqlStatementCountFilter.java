@@ -0,0 +1,77 @@
+package com.alisonpariela.blogmanager.filter;
+
+import com.alisonpariela.blogmanager.metrics.SqlBudget;
+import com.alisonpariela.blogmanager.metrics.SqlStatementCounter;
+
+import io.micrometer.core.instrument.Counter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request issued, tagged with the matched
+ * route template rather than the raw path. Runs ahead of the security chain so
+ * the principal lookup done during authentication is included. Requests whose
+ * handler goes over the route's {@link SqlBudget} are logged and counted.
+ */
+@Slf4j
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String METRIC = "http.server.requests.sql";
+    public static final String OVER_BUDGET_METRIC = "http.server.requests.sql.over.budget";
+
+    private final MeterRegistry registry;
+    private final SqlBudget budget;
+
+    public SqlStatementCountFilter(MeterRegistry registry, SqlBudget budget) {
+        this.registry = registry;
+        this.budget = budget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int handlerStatements = SqlStatementCounter.handlerStatements();
+            int statements = SqlStatementCounter.end();
+            String method = request.getMethod();
+            String route = route(request);
+            DistributionSummary.builder(METRIC)
+                    .baseUnit("statements")
+                    .tag("method", method)
+                    .tag("uri", route)
+                    .register(registry)
+                    .record(statements);
+            if (budget.isExceeded(method, route, handlerStatements)) {
+                Counter.builder(OVER_BUDGET_METRIC)
+                        .tag("method", method)
+                        .tag("uri", route)
+                        .register(registry)
+                        .increment();
+                log.warn("{} {} issued {} SQL statements, budget is {}",
+                        method, route, handlerStatements, budget.budgetFor(method, route));
+            }
+        }
+    }
+
+    public static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,48 @@
+package com.alisonpariela.blogmanager.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maximum number of SQL statements a request handler may issue, per route.
+ * Authentication lookups are shared by every route and not charged to it. Routes
+ * are keyed as "METHOD /route/template"; routes without an entry use the default,
+ * and a budget of 0 means unlimited.
+ */
+public class SqlBudget {
+
+    private final int defaultBudget;
+    private final Map<String, Integer> routeBudgets;
+    private final boolean failOnExceed;
+
+    public SqlBudget(int defaultBudget, Map<String, Integer> routeBudgets, boolean failOnExceed) {
+        this.defaultBudget = defaultBudget;
+        this.routeBudgets = Map.copyOf(routeBudgets);
+        this.failOnExceed = failOnExceed;
+    }
+
+    /** Parses "GET /api/posts=2, GET /api/posts/{id}=2" into route budgets. */
+    public static Map<String, Integer> parseRoutes(String routes) {
+        Map<String, Integer> budgets = new HashMap<>();
+        for (String entry : routes.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator > 0) {
+                budgets.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+            }
+        }
+        return budgets;
+    }
+
+    public int budgetFor(String method, String route) {
+        return routeBudgets.getOrDefault(method + " " + route, defaultBudget);
+    }
+
+    public boolean isExceeded(String method, String route, int statements) {
+        int budget = budgetFor(method, route);
+        return budget > 0 && statements > budget;
+    }
+
+    public boolean isFailOnExceed() {
+        return failOnExceed;
+    }
+}
@@ -0,0 +1,63 @@
+package com.alisonpariela.blogmanager.metrics;
+
+import com.alisonpariela.blogmanager.exception.SqlBudgetExceededException;
+import com.alisonpariela.blogmanager.filter.SqlStatementCountFilter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Checks the statement count just before a response body is written, while
+ * headers can still be set: adds the count as a header when enabled, and fails
+ * the request in fail-on-exceed mode. Statements issued while streaming the body
+ * are only seen by {@link SqlStatementCountFilter}.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class SqlBudgetAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-SQL-Statements";
+
+    // Set once the budget has failed a request, so the error body itself is let through.
+    private static final String FAILED = SqlBudgetAdvice.class.getName() + ".FAILED";
+
+    private final SqlBudget sqlBudget;
+
+    @Value("${sql.budget.expose-header:false}")
+    private boolean exposeHeader;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return exposeHeader || sqlBudget.isFailOnExceed();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (exposeHeader) {
+            response.getHeaders().set(HEADER, String.valueOf(SqlStatementCounter.current()));
+        }
+        if (sqlBudget.isFailOnExceed() && request instanceof ServletServerHttpRequest servletRequest) {
+            HttpServletRequest httpRequest = servletRequest.getServletRequest();
+            String method = httpRequest.getMethod();
+            String route = SqlStatementCountFilter.route(httpRequest);
+            int statements = SqlStatementCounter.handlerStatements();
+            if (httpRequest.getAttribute(FAILED) == null && sqlBudget.isExceeded(method, route, statements)) {
+                httpRequest.setAttribute(FAILED, Boolean.TRUE);
+                throw new SqlBudgetExceededException(method + " " + route, statements, sqlBudget.budgetFor(method, route));
+            }
+        }
+        return body;
+    }
+}
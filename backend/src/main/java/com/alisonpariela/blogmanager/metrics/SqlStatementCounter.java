@@ -0,0 +1,60 @@
+package com.alisonpariela.blogmanager.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements prepared on the current thread between
+ * {@link #begin()} and {@link #end()}, so a request that fans out into one
+ * query per row shows up in its statement count. Hibernate reports through the
+ * inspector, JdbcTemplate through {@link CountingJdbcTemplate}. Statements
+ * prepared outside an open scope are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    // [0] statements so far, [1] statements before the handler was invoked
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public static void begin() {
+        COUNT.set(new int[2]);
+    }
+
+    /** Closes the scope on this thread and returns the number of statements it saw. */
+    public static int end() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    /** Statements seen so far in this thread's open scope. */
+    public static int current() {
+        int[] count = COUNT.get();
+        return count != null ? count[0] : 0;
+    }
+
+    /** Marks the start of handler execution; anything before it belongs to filters such as authentication. */
+    public static void markHandlerStart() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[1] = count[0];
+        }
+    }
+
+    /** Statements issued since {@link #markHandlerStart()}, or all of them if no handler ran. */
+    public static int handlerStatements() {
+        int[] count = COUNT.get();
+        return count != null ? count[0] - count[1] : 0;
+    }
+
+    static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        increment();
+        return sql;
+    }
+}
@@ -14,15 +14,20 @@ import lombok.Setter;
 @Entity
 @Getter
 @Setter
+@Table(indexes = @Index(name = "idx_post_user_created_id", columnList = "user_id, created_at desc, id desc"))
 public class Post {
+    // Pooled sequence ids let Hibernate assign ids without a round trip per insert,
+    // which is what allows inserts to be JDBC batched.
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq")
+    @SequenceGenerator(name = "post_seq", sequenceName = "post_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
     private String title;
 
     @NotNull
+    @Column(columnDefinition = "text")
     private String contents; 
 
     @CreationTimestamp
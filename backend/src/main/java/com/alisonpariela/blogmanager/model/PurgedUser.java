@@ -0,0 +1,34 @@
+package com.alisonpariela.blogmanager.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tombstone of a purged account. Keeps the account's token version revoked,
+ * for token version stores rebuilt on startup, until every token issued to it
+ * has expired.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "purged_users")
+public class PurgedUser {
+
+    // The purged user's id, not generated.
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private int tokenVersion;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,70 @@
+package com.alisonpariela.blogmanager.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process token buckets. Each bucket is a single theoretical arrival time
+ * (the GCRA form of a token bucket), advanced with compare-and-set, so no locks
+ * are taken. Buckets idle long enough to be full again are dropped.
+ */
+public class LocalRateLimiter implements RateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+
+    public LocalRateLimiter(long maxKeys, Duration idleExpiry) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleExpiry)
+                .build();
+    }
+
+    // All or nothing, like the Redis script: every bucket is checked before any is
+    // charged. A bucket emptied by a concurrent request in between refunds the
+    // buckets already charged.
+    @Override
+    public long tryAcquire(List<RateLimit> limits) {
+        long now = System.nanoTime();
+        AtomicLong[] arrivals = new AtomicLong[limits.size()];
+        long wait = 0;
+        for (int i = 0; i < arrivals.length; i++) {
+            RateLimit limit = limits.get(i);
+            arrivals[i] = buckets.get(limit.key(), key -> new AtomicLong(Long.MIN_VALUE));
+            wait = Math.max(wait, waitFor(arrivals[i].get(), now, limit));
+        }
+        if (wait > 0) {
+            return wait;
+        }
+        for (int i = 0; i < arrivals.length; i++) {
+            wait = acquire(arrivals[i], now, limits.get(i));
+            if (wait > 0) {
+                for (int j = 0; j < i; j++) {
+                    arrivals[j].addAndGet(-limits.get(j).intervalNanos());
+                }
+                return wait;
+            }
+        }
+        return 0;
+    }
+
+    private static long acquire(AtomicLong arrival, long now, RateLimit limit) {
+        while (true) {
+            long current = arrival.get();
+            long wait = waitFor(current, now, limit);
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, Math.max(current, now) + limit.intervalNanos())) {
+                return 0;
+            }
+        }
+    }
+
+    private static long waitFor(long arrival, long now, RateLimit limit) {
+        return Math.max(arrival, now) + limit.intervalNanos() - now - limit.period().toNanos();
+    }
+}
@@ -0,0 +1,15 @@
+package com.alisonpariela.blogmanager.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * A token bucket holding up to {@code capacity} tokens that refills completely
+ * over {@code period}, identified by {@code key}.
+ */
+public record RateLimit(String key, int capacity, Duration period) {
+
+    /** Time to regain a single token. */
+    public long intervalNanos() {
+        return period.toNanos() / capacity;
+    }
+}
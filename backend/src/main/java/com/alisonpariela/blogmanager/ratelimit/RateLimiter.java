@@ -0,0 +1,12 @@
+package com.alisonpariela.blogmanager.ratelimit;
+
+import java.util.List;
+
+public interface RateLimiter {
+
+    /**
+     * Takes one token from each bucket, or none if any bucket is empty. Returns 0
+     * when the request is allowed, otherwise the nanoseconds until it would be.
+     */
+    long tryAcquire(List<RateLimit> limits);
+}
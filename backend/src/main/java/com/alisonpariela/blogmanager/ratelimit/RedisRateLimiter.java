@@ -0,0 +1,66 @@
+package com.alisonpariela.blogmanager.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token buckets shared by all replicas. All buckets of a request are checked and
+ * charged by one Lua script, so an allowed request costs a single round trip.
+ * While Redis is unreachable the local buckets take over, and Redis is retried
+ * after a short pause instead of on every request.
+ */
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final RedisScript<Long> SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/rate-limit.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimiter fallback;
+    private final long retryAfterMillis;
+    private final Counter fallbacks;
+    private volatile long redisRetryAt;
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate, RateLimiter fallback, Duration retryAfter,
+                            MeterRegistry registry) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = fallback;
+        this.retryAfterMillis = retryAfter.toMillis();
+        this.fallbacks = Counter.builder("auth.ratelimit.fallback").register(registry);
+    }
+
+    @Override
+    public long tryAcquire(List<RateLimit> limits) {
+        if (System.currentTimeMillis() < redisRetryAt) {
+            fallbacks.increment();
+            return fallback.tryAcquire(limits);
+        }
+        List<String> keys = new ArrayList<>(limits.size());
+        Object[] args = new Object[limits.size() * 2];
+        for (int i = 0; i < limits.size(); i++) {
+            RateLimit limit = limits.get(i);
+            keys.add(limit.key());
+            args[2 * i] = Long.toString(limit.intervalNanos() / 1000);
+            args[2 * i + 1] = Long.toString(limit.period().toNanos() / 1000);
+        }
+        try {
+            Long waitMicros = redisTemplate.execute(SCRIPT, keys, args);
+            return waitMicros == null ? 0 : waitMicros * 1000;
+        } catch (RuntimeException e) {
+            redisRetryAt = System.currentTimeMillis() + retryAfterMillis;
+            log.warn("Rate limiter could not reach Redis, using local buckets for {} ms: {}", retryAfterMillis, e.getMessage());
+            fallbacks.increment();
+            return fallback.tryAcquire(limits);
+        }
+    }
+}
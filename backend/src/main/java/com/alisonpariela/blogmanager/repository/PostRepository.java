@@ -1,24 +1,116 @@
 package com.alisonpariela.blogmanager.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import org.springframework.data.repository.query.Param;
+import com.alisonpariela.blogmanager.DTO.PostDTO;
+import com.alisonpariela.blogmanager.DTO.PostSummaryDTO;
 import com.alisonpariela.blogmanager.model.Post;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
+    String POST_DTO = "new com.alisonpariela.blogmanager.DTO.PostDTO(p.id, p.title, p.contents, p.createdAt, p.lastUpdatedAt, u.username)";
+    //the excerpt is cut in the database so full bodies never leave Postgres on list queries
+    String POST_SUMMARY_DTO = "new com.alisonpariela.blogmanager.DTO.PostSummaryDTO(p.id, p.title, substring(p.contents, 1, "
+            + PostSummaryDTO.EXCERPT_LENGTH + "), length(p.contents), p.createdAt, p.lastUpdatedAt, u.username)";
+
     List<Post> findByUserUsername(String username);
     List<Post> findByUserId(Long userId);
 
     long countByUserId(Long userId);
     
-    //paginated 
+    //paginated
     @Query("SELECT p FROM Post p WHERE p.user.id = :userId")
     Page<Post> findUserPostsOrderedByDate(@Param("userId") Long userId, Pageable pageable);
 
+    //projections: one query per page, no entity hydration and no lazy user loads
+    @Query(value = "SELECT " + POST_DTO + " FROM Post p JOIN p.user u WHERE u.id = :userId",
+           countQuery = "SELECT count(p) FROM Post p WHERE p.user.id = :userId")
+    Page<PostDTO> findUserPostViews(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = "SELECT " + POST_SUMMARY_DTO + " FROM Post p JOIN p.user u WHERE u.id = :userId",
+           countQuery = "SELECT count(p) FROM Post p WHERE p.user.id = :userId")
+    Page<PostSummaryDTO> findUserPostSummaries(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT " + POST_DTO + " FROM Post p JOIN p.user u WHERE p.id = :id AND u.id = :userId")
+    Optional<PostDTO> findUserPostView(@Param("id") Long id, @Param("userId") Long userId);
+
+    //keyset: slices fetch size + 1 rows and never run a count query
+    @Query("SELECT " + POST_DTO + " FROM Post p JOIN p.user u WHERE u.id = :userId ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PostDTO> findUserPostsFirstSlice(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT " + POST_DTO + " FROM Post p JOIN p.user u"
+            + " WHERE u.id = :userId AND (p.createdAt, p.id) < (:createdAt, :id)"
+            + " ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PostDTO> findUserPostsSliceBefore(@Param("userId") Long userId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
+    //export: rows are pulled from an open cursor in fetch-size chunks; must be consumed inside a transaction
+    String EXPORT_FETCH_SIZE = "500";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT " + POST_DTO + " FROM Post p JOIN p.user u WHERE u.id = :userId ORDER BY p.createdAt, p.id")
+    Stream<PostDTO> streamUserPosts(@Param("userId") Long userId);
+
+    //in-memory search: ranking happens in the index, the page is read back by id
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT p.id AS id, p.user.id AS userId, p.title AS title, p.contents AS contents FROM Post p")
+    Stream<PostIndexView> streamAllForIndex();
+
+    @Query("SELECT " + POST_DTO + " FROM Post p JOIN p.user u WHERE p.id IN :ids AND u.id = :userId")
+    List<PostDTO> findUserPostViewsByIds(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    //batch
+    @Query("SELECT p.id AS id, p.user.id AS userId FROM Post p WHERE p.id IN :ids")
+    List<PostOwnerView> findOwners(@Param("ids") Collection<Long> ids);
+
+    //conditional requests: the version stamp alone, without loading contents
+    @Query("SELECT p.lastUpdatedAt FROM Post p WHERE p.id = :id AND p.user.id = :userId")
+    Optional<LocalDateTime> findUserPostLastUpdatedAt(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT p.lastUpdatedAt AS lastUpdatedAt, u.username AS author FROM Post p JOIN p.user u"
+            + " WHERE p.id = :id AND u.id = :userId")
+    Optional<PostVersionView> findUserPostVersion(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT p.id FROM Post p WHERE p.user.id = :userId ORDER BY p.id")
+    List<Long> findUserPostIds(@Param("userId") Long userId, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Post p WHERE p.id IN :ids AND p.user.id = :userId")
+    int deleteUserPosts(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    interface PostIndexView {
+        Long getId();
+        Long getUserId();
+        String getTitle();
+        String getContents();
+    }
+
+    interface PostVersionView {
+        LocalDateTime getLastUpdatedAt();
+        String getAuthor();
+    }
+
+    interface PostOwnerView {
+        Long getId();
+        Long getUserId();
+    }
 }
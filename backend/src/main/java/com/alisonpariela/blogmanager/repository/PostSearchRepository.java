@@ -0,0 +1,137 @@
+package com.alisonpariela.blogmanager.repository;
+
+import com.alisonpariela.blogmanager.DTO.PostSearchResultDTO;
+import com.alisonpariela.blogmanager.DTO.PostSummaryDTO;
+import com.alisonpariela.blogmanager.search.PostSearchEngine;
+import com.alisonpariela.blogmanager.search.Snippets;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Full-text search over posts. On PostgreSQL it uses a generated, weighted
+ * tsvector column (title A, contents B) with a GIN index; the column is not part
+ * of the Post mapping, so it is created here once Hibernate has built the table.
+ * Other databases (H2 in local runs) fall back to an unranked LIKE scan.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(name = "search.engine", havingValue = "database", matchIfMissing = true)
+public class PostSearchRepository implements PostSearchEngine {
+
+    private static final String TEXT_CONFIG = "'english'";
+
+    private static final String SEARCH_VECTOR = "setweight(to_tsvector(" + TEXT_CONFIG + ", coalesce(title, '')), 'A')"
+            + " || setweight(to_tsvector(" + TEXT_CONFIG + ", coalesce(contents, '')), 'B')";
+
+    // Headlines are expensive, so they are built only for the rows of the requested page.
+    // Matches are delimited with the snippet marker characters (stripped from the text first)
+    // so the headline can be HTML-escaped before the markers become mark tags.
+    private static final String PG_SEARCH = """
+            SELECT m.id, m.title, m.rank, m.created_at, m.last_updated_at, u.username AS author,
+                   ts_headline(%1$s, translate(m.contents, chr(%2$d) || chr(%3$d), ''), websearch_to_tsquery(%1$s, :q),
+                               'StartSel=' || chr(%2$d) || ', StopSel=' || chr(%3$d) || ', MaxFragments=2, MinWords=10, MaxWords=30') AS snippet
+            FROM (SELECT p.id, p.title, p.contents, p.created_at, p.last_updated_at, p.user_id,
+                         ts_rank_cd(p.search_vector, q, 32) AS rank
+                  FROM post p, websearch_to_tsquery(%1$s, :q) q
+                  WHERE p.user_id = :userId AND p.search_vector @@ q
+                  ORDER BY rank DESC, p.id DESC
+                  LIMIT :limit OFFSET :offset) m
+            JOIN users u ON u.id = m.user_id
+            ORDER BY m.rank DESC, m.id DESC
+            """.formatted(TEXT_CONFIG, (int) Snippets.START_MARK, (int) Snippets.STOP_MARK);
+
+    private static final String PG_COUNT = """
+            SELECT count(*) FROM post p
+            WHERE p.user_id = :userId AND p.search_vector @@ websearch_to_tsquery(%s, :q)
+            """.formatted(TEXT_CONFIG);
+
+    private static final String LIKE_MATCH = "p.user_id = :userId"
+            + " AND (lower(p.title) LIKE :pattern ESCAPE '\\' OR lower(p.contents) LIKE :pattern ESCAPE '\\')";
+
+    private static final String LIKE_SEARCH = "SELECT p.id, p.title, 0 AS rank, p.created_at, p.last_updated_at,"
+            + " u.username AS author, substring(p.contents, 1, " + PostSummaryDTO.EXCERPT_LENGTH + ") AS snippet"
+            + " FROM post p JOIN users u ON u.id = p.user_id WHERE " + LIKE_MATCH
+            + " ORDER BY p.created_at DESC, p.id DESC LIMIT :limit OFFSET :offset";
+
+    private static final String LIKE_COUNT = "SELECT count(*) FROM post p WHERE " + LIKE_MATCH;
+
+    private static final RowMapper<PostSearchResultDTO> ROW_MAPPER = (rs, rowNum) -> new PostSearchResultDTO(
+            rs.getLong("id"),
+            rs.getString("title"),
+            Snippets.fromMarkers(rs.getString("snippet")),
+            rs.getDouble("rank"),
+            toLocalDateTime(rs.getTimestamp("created_at")),
+            toLocalDateTime(rs.getTimestamp("last_updated_at")),
+            rs.getString("author"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private boolean fullText;
+
+    @PostConstruct
+    void init() {
+        String product = jdbcTemplate.getJdbcTemplate().execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        fullText = "PostgreSQL".equals(product);
+        if (!fullText) {
+            log.info("Full-text search needs PostgreSQL; {} falls back to LIKE matching", product);
+            return;
+        }
+        // No-ops once the column and index exist. Adding the column rewrites the table the first time.
+        jdbcTemplate.getJdbcTemplate().execute("ALTER TABLE post ADD COLUMN IF NOT EXISTS search_vector tsvector"
+                + " GENERATED ALWAYS AS (" + SEARCH_VECTOR + ") STORED");
+        jdbcTemplate.getJdbcTemplate().execute(
+                "CREATE INDEX IF NOT EXISTS idx_post_search_vector ON post USING GIN (search_vector)");
+    }
+
+    @Override
+    public Page<PostSearchResultDTO> search(Long userId, String query, Pageable pageable) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+        if (fullText) {
+            params.addValue("q", query);
+            return page(PG_SEARCH, PG_COUNT, params, pageable);
+        }
+        params.addValue("pattern", "%" + escapeLike(query.toLowerCase(Locale.ROOT)) + "%");
+        return page(LIKE_SEARCH, LIKE_COUNT, params, pageable);
+    }
+
+    private Page<PostSearchResultDTO> page(String sql, String countSql, MapSqlParameterSource params, Pageable pageable) {
+        List<PostSearchResultDTO> content = jdbcTemplate.query(sql, params, ROW_MAPPER);
+        if (pageable.getOffset() == 0 && content.size() < pageable.getPageSize()) {
+            return new PageImpl<>(content, pageable, content.size());
+        }
+        Long total = jdbcTemplate.queryForObject(countSql, params, Long.class);
+        return new PageImpl<>(content, pageable, total == null ? 0 : total);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
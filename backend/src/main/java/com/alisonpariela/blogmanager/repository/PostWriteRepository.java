@@ -0,0 +1,72 @@
+package com.alisonpariela.blogmanager.repository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Ownership-checked post updates as a single statement. The owner, and the
+ * expected modification stamp for conditional updates, are part of the WHERE
+ * clause, and the row's creation time comes back from the same statement
+ * (RETURNING on PostgreSQL, a data change delta table on H2) so the response
+ * can be built without reading the post.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostWriteRepository {
+
+    private static final String UPDATE = "UPDATE post SET title = :title, contents = :contents, last_updated_at = :now"
+            + " WHERE id = :id AND user_id = :userId";
+
+    private static final String IF_UNMODIFIED = " AND last_updated_at IN (:expected)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private String product;
+
+    @PostConstruct
+    void init() {
+        product = jdbcTemplate.getJdbcTemplate().execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+    }
+
+    /**
+     * Updates the post if it belongs to the user and, when expected is not null,
+     * was last modified at one of the expected stamps. Returns the post's creation
+     * time, or empty if no row matched.
+     */
+    public Optional<LocalDateTime> updateUserPost(Long id, Long userId, String title, String contents,
+                                                  LocalDateTime now, Collection<LocalDateTime> expected) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("userId", userId)
+                .addValue("title", title)
+                .addValue("contents", contents)
+                .addValue("now", now)
+                .addValue("expected", expected);
+        String update = expected == null ? UPDATE : UPDATE + IF_UNMODIFIED;
+
+        List<Timestamp> createdAt;
+        switch (product) {
+            case "PostgreSQL" -> createdAt = jdbcTemplate.queryForList(update + " RETURNING created_at", params, Timestamp.class);
+            case "H2" -> createdAt = jdbcTemplate.queryForList("SELECT created_at FROM FINAL TABLE (" + update + ")", params, Timestamp.class);
+            default -> {
+                if (jdbcTemplate.update(update, params) == 0) {
+                    return Optional.empty();
+                }
+                createdAt = jdbcTemplate.queryForList("SELECT created_at FROM post WHERE id = :id", params, Timestamp.class);
+            }
+        }
+        return createdAt.isEmpty() ? Optional.empty() : Optional.of(createdAt.get(0).toLocalDateTime());
+    }
+}
@@ -0,0 +1,23 @@
+package com.alisonpariela.blogmanager.repository;
+
+import com.alisonpariela.blogmanager.model.PurgedUser;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PurgedUserRepository extends JpaRepository<PurgedUser, Long> {
+
+    @Query("SELECT p.id AS id, p.tokenVersion AS tokenVersion FROM PurgedUser p WHERE p.expiresAt > :now")
+    List<UserRepository.TokenVersionView> findActiveTokenVersions(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM PurgedUser p WHERE p.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
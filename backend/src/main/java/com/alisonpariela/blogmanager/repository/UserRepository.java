@@ -1,8 +1,17 @@
 package com.alisonpariela.blogmanager.repository;
 import org.springframework.stereotype.Repository;
 import com.alisonpariela.blogmanager.model.User;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 
 @Repository
@@ -13,4 +22,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     boolean existsByUsername(String username);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.username AS username, u.email AS email FROM User u")
+    Stream<IdentityView> streamAllIdentities();
+
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion FROM User u WHERE u.tokenVersion > 0")
+    List<TokenVersionView> findRevokedTokenVersions();
+
+    @Query("SELECT u.id FROM User u WHERE u.deletedAt IS NOT NULL ORDER BY u.deletedAt")
+    List<Long> findDeletedIds();
+
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id = :id AND u.deletedAt IS NOT NULL")
+    int deletePurged(@Param("id") Long id);
+
+    interface IdentityView {
+        String getUsername();
+        String getEmail();
+    }
+
+    interface TokenVersionView {
+        Long getId();
+        int getTokenVersion();
+    }
 }
@@ -0,0 +1,137 @@
+package com.alisonpariela.blogmanager.search;
+
+import com.alisonpariela.blogmanager.DTO.PostDTO;
+import com.alisonpariela.blogmanager.DTO.PostSearchResultDTO;
+import com.alisonpariela.blogmanager.DTO.PostSummaryDTO;
+import com.alisonpariela.blogmanager.repository.PostRepository;
+import com.alisonpariela.blogmanager.service.PostsChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Search without schema changes: one {@link InvertedIndex} per user, built from
+ * the posts table at startup and kept current from committed post changes. The
+ * index only ranks ids; the page itself is read back from the database.
+ * <p>
+ * Each node only sees its own writes, so this engine suits single-node
+ * deployments; use the database engine when several nodes share the data.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "search.engine", havingValue = "memory")
+public class InMemoryPostSearchEngine implements PostSearchEngine, SmartInitializingSingleton {
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentMap<Long, Partition> partitions = new ConcurrentHashMap<>();
+
+    // Runs before the web server starts, so no request sees a half-built index.
+    @Override
+    public void afterSingletonsInstantiated() {
+        long started = System.nanoTime();
+        long[] indexed = {0};
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<PostRepository.PostIndexView> posts = postRepository.streamAllForIndex()) {
+                posts.forEach(post -> {
+                    partition(post.getUserId()).put(post.getId(), post.getTitle(), post.getContents());
+                    indexed[0]++;
+                });
+            }
+        });
+        log.info("Indexed {} posts for {} users in {} ms", indexed[0], partitions.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsChanged(PostsChangedEvent event) {
+        Partition partition = partition(event.getUserId());
+        event.getDeletedIds().forEach(partition::remove);
+        event.getSaved().forEach(post -> partition.put(post.getId(), post.getTitle(), post.getContents()));
+    }
+
+    @Override
+    public Page<PostSearchResultDTO> search(Long userId, String query, Pageable pageable) {
+        Partition partition = partitions.get(userId);
+        int limit = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        InvertedIndex.Result result = partition == null ? InvertedIndex.Result.EMPTY : partition.search(query, limit);
+
+        List<InvertedIndex.Hit> hits = result.hits();
+        List<InvertedIndex.Hit> pageHits = hits.subList((int) Math.min(pageable.getOffset(), hits.size()), hits.size());
+        if (pageHits.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, result.total());
+        }
+
+        Map<Long, PostDTO> posts = postRepository
+                .findUserPostViewsByIds(pageHits.stream().map(InvertedIndex.Hit::postId).toList(), userId)
+                .stream()
+                .collect(Collectors.toMap(PostDTO::getId, Function.identity()));
+        List<PostSearchResultDTO> content = pageHits.stream()
+                .filter(hit -> posts.containsKey(hit.postId()))
+                .map(hit -> {
+                    PostDTO post = posts.get(hit.postId());
+                    return new PostSearchResultDTO(post.getId(), post.getTitle(),
+                            InvertedIndex.highlight(post.getContents(), query, PostSummaryDTO.EXCERPT_LENGTH),
+                            hit.score(), post.getCreatedAt(), post.getLastUpdatedAt(), post.getAuthor());
+                })
+                .toList();
+        return new PageImpl<>(content, pageable, result.total());
+    }
+
+    private Partition partition(Long userId) {
+        return partitions.computeIfAbsent(userId, id -> new Partition());
+    }
+
+    private static final class Partition {
+        private final InvertedIndex index = new InvertedIndex();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        void put(long postId, String title, String contents) {
+            lock.writeLock().lock();
+            try {
+                index.put(postId, title, contents);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(long postId) {
+            lock.writeLock().lock();
+            try {
+                index.remove(postId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        InvertedIndex.Result search(String query, int limit) {
+            lock.readLock().lock();
+            try {
+                return index.search(query, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
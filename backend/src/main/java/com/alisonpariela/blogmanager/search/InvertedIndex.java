@@ -0,0 +1,267 @@
+package com.alisonpariela.blogmanager.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Inverted index over post titles and contents. Posts get dense int document ids
+ * and every term keeps sorted, primitive int arrays of (doc, weight), so a query
+ * is an intersection of int arrays with no boxing. Removed documents are masked
+ * out and physically dropped once they outnumber the live ones.
+ * <p>
+ * Not thread-safe; callers guard access.
+ */
+final class InvertedIndex {
+
+    static final Comparator<Hit> BEST_FIRST = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparing(Comparator.comparingLong(Hit::postId).reversed());
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int MIN_DEAD_FOR_COMPACTION = 1024;
+
+    private final Map<String, Postings> terms = new HashMap<>();
+    private final Map<Long, Integer> docIds = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private long[] postIds = new long[16];
+    private int nextDoc;
+
+    int size() {
+        return docIds.size();
+    }
+
+    void put(long postId, String title, String contents) {
+        remove(postId);
+
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : tokenize(title)) {
+            weights.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(contents)) {
+            weights.merge(term, 1, Integer::sum);
+        }
+
+        int doc = nextDoc++;
+        if (doc == postIds.length) {
+            postIds = Arrays.copyOf(postIds, doc * 2);
+        }
+        postIds[doc] = postId;
+        docIds.put(postId, doc);
+        live.set(doc);
+        weights.forEach((term, weight) -> terms.computeIfAbsent(term, t -> new Postings()).add(doc, weight));
+    }
+
+    void remove(long postId) {
+        Integer doc = docIds.remove(postId);
+        if (doc == null) {
+            return;
+        }
+        live.clear(doc);
+        int dead = nextDoc - docIds.size();
+        if (dead >= MIN_DEAD_FOR_COMPACTION && dead > docIds.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * The best {@code limit} posts containing every term of the query, best match
+     * first, together with the total number of matches.
+     */
+    Result search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return Result.EMPTY;
+        }
+        Postings[] lists = new Postings[queryTerms.size()];
+        int i = 0;
+        for (String term : queryTerms) {
+            Postings postings = terms.get(term);
+            if (postings == null) {
+                return Result.EMPTY;
+            }
+            lists[i++] = postings;
+        }
+        // Drive from the rarest term and probe the longer lists.
+        Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+
+        int liveDocs = docIds.size();
+        double[] idf = new double[lists.length];
+        for (int l = 0; l < lists.length; l++) {
+            idf[l] = Math.log(1 + (double) liveDocs / lists[l].size);
+        }
+
+        int[] cursors = new int[lists.length];
+        // Min-heap of the best hits so far; a full sort of common terms would dominate the query.
+        PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(limit, 1024) + 1, BEST_FIRST.reversed());
+        int total = 0;
+        Postings driver = lists[0];
+        candidates:
+        for (int p = 0; p < driver.size; p++) {
+            int doc = driver.docs[p];
+            if (!live.get(doc)) {
+                continue;
+            }
+            double score = idf[0] * saturate(driver.weights[p]);
+            for (int l = 1; l < lists.length; l++) {
+                Postings other = lists[l];
+                int pos = other.seek(doc, cursors[l]);
+                cursors[l] = pos;
+                if (pos == other.size || other.docs[pos] != doc) {
+                    continue candidates;
+                }
+                score += idf[l] * saturate(other.weights[pos]);
+            }
+            total++;
+            Hit hit = new Hit(postIds[doc], score);
+            if (top.size() < limit) {
+                top.add(hit);
+            } else if (BEST_FIRST.compare(hit, top.peek()) < 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(BEST_FIRST);
+        return new Result(hits, total);
+    }
+
+    // BM25-style term frequency saturation, without length normalisation.
+    private static double saturate(int weight) {
+        return weight * 2.2 / (weight + 1.2);
+    }
+
+    private void compact() {
+        int[] remap = new int[nextDoc];
+        Arrays.fill(remap, -1);
+        long[] compacted = new long[Math.max(16, docIds.size() * 2)];
+        int next = 0;
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            remap[doc] = next;
+            compacted[next++] = postIds[doc];
+        }
+        terms.values().removeIf(postings -> postings.retain(remap) == 0);
+        docIds.replaceAll((postId, doc) -> remap[doc]);
+        live.clear();
+        live.set(0, next);
+        postIds = compacted;
+        nextDoc = next;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Window of the text around the first query term, HTML-escaped, with every
+     * query term wrapped in mark tags; the head of the text if no term occurs.
+     */
+    static String highlight(String text, String query, int maxLength) {
+        if (text == null) {
+            return null;
+        }
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        List<int[]> spans = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (queryTerms.contains(text.substring(start, i).toLowerCase(Locale.ROOT))) {
+                    spans.add(new int[]{start, i});
+                }
+                start = -1;
+            }
+        }
+
+        int from = spans.isEmpty() ? 0 : Math.max(0, spans.get(0)[0] - maxLength / 4);
+        while (from > 0 && Character.isLetterOrDigit(text.charAt(from - 1))) {
+            from--;
+        }
+        int to = Math.min(text.length(), from + maxLength);
+        StringBuilder snippet = new StringBuilder(to - from + 32);
+        int at = from;
+        for (int[] span : spans) {
+            if (span[1] > to) {
+                break;
+            }
+            Snippets.appendEscaped(snippet, text, at, span[0]).append(Snippets.OPEN);
+            Snippets.appendEscaped(snippet, text, span[0], span[1]).append(Snippets.CLOSE);
+            at = span[1];
+        }
+        return Snippets.appendEscaped(snippet, text, at, to).toString();
+    }
+
+    record Hit(long postId, double score) {
+    }
+
+    record Result(List<Hit> hits, int total) {
+        static final Result EMPTY = new Result(List.of(), 0);
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        // Documents are only ever appended with increasing ids, so the arrays stay sorted.
+        void add(int doc, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        /** Index of the first entry at or after from whose doc is >= target (galloping search). */
+        int seek(int target, int from) {
+            int step = 1;
+            int hi = from;
+            while (hi < size && docs[hi] < target) {
+                from = hi + 1;
+                hi += step;
+                step <<= 1;
+            }
+            int pos = Arrays.binarySearch(docs, from, Math.min(hi + 1, size), target);
+            return pos >= 0 ? pos : -pos - 1;
+        }
+
+        int retain(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    weights[kept] = weights[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.alisonpariela.blogmanager.search;
+
+import com.alisonpariela.blogmanager.DTO.PostSearchResultDTO;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Backend for post search, selected with search.engine (database | memory).
+ */
+public interface PostSearchEngine {
+
+    Page<PostSearchResultDTO> search(Long userId, String query, Pageable pageable);
+}
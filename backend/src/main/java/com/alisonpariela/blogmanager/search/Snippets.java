@@ -0,0 +1,53 @@
+package com.alisonpariela.blogmanager.search;
+
+/**
+ * Search snippets are HTML: escaped post text in which only the matched terms
+ * are wrapped in {@code <mark></mark>}, whichever engine produced them.
+ */
+public final class Snippets {
+
+    /** Control characters (STX, ETX) standing in for the mark tags until the text is escaped; valid in any encoding. */
+    public static final char START_MARK = '\u0002';
+    public static final char STOP_MARK = '\u0003';
+
+    public static final String OPEN = "<mark>";
+    public static final String CLOSE = "</mark>";
+
+    private Snippets() {
+    }
+
+    /** Escapes text carrying {@link #START_MARK}/{@link #STOP_MARK} and turns those into mark tags. */
+    public static String fromMarkers(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder html = new StringBuilder(text.length() + 32);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case START_MARK -> html.append(OPEN);
+                case STOP_MARK -> html.append(CLOSE);
+                default -> appendEscaped(html, c);
+            }
+        }
+        return html.toString();
+    }
+
+    public static StringBuilder appendEscaped(StringBuilder html, CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            appendEscaped(html, text.charAt(i));
+        }
+        return html;
+    }
+
+    private static void appendEscaped(StringBuilder html, char c) {
+        switch (c) {
+            case '&' -> html.append("&amp;");
+            case '<' -> html.append("&lt;");
+            case '>' -> html.append("&gt;");
+            case '"' -> html.append("&quot;");
+            case '\'' -> html.append("&#39;");
+            default -> html.append(c);
+        }
+    }
+}
@@ -3,20 +3,19 @@ package com.alisonpariela.blogmanager.security;
 import com.alisonpariela.blogmanager.model.User; 
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 
 public class AuthUtil {
 
     private AuthUtil() {}
 
     public static Long getAuthenticatedUserId() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        Object principal = getPrincipal();
 
-        if (auth == null || !auth.isAuthenticated()) {
-            throw new RuntimeException("User not authenticated");
+        if (principal instanceof UserPrincipal) {
+            return ((UserPrincipal) principal).getId();
         }
 
-        Object principal = auth.getPrincipal();
-
         // Check if the principal is an instance of your User entity
         if (principal instanceof User) {
             return ((User) principal).getId();
@@ -24,4 +23,24 @@ public class AuthUtil {
 
         throw new RuntimeException("Principal is not an instance of User");
     }
+
+    public static String getAuthenticatedUsername() {
+        Object principal = getPrincipal();
+
+        if (principal instanceof UserDetails) {
+            return ((UserDetails) principal).getUsername();
+        }
+
+        throw new RuntimeException("Principal is not an instance of UserDetails");
+    }
+
+    private static Object getPrincipal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+
+        if (auth == null || !auth.isAuthenticated()) {
+            throw new RuntimeException("User not authenticated");
+        }
+
+        return auth.getPrincipal();
+    }
 }
@@ -0,0 +1,47 @@
+package com.alisonpariela.blogmanager.security;
+
+import com.alisonpariela.blogmanager.repository.PurgedUserRepository;
+import com.alisonpariela.blogmanager.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-node token version table. Only users that have revoked tokens are held,
+ * and the table is reloaded on startup from the users table and the tombstones
+ * of purged users.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.token-version-store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTokenVersionStore implements TokenVersionStore {
+
+    private final UserRepository userRepository;
+    private final PurgedUserRepository purgedUserRepository;
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void load() {
+        userRepository.findRevokedTokenVersions()
+                .forEach(row -> versions.put(row.getId(), row.getTokenVersion()));
+        // Purged users are gone from the users table but their tokens may still be live.
+        purgedUserRepository.findActiveTokenVersions(LocalDateTime.now())
+                .forEach(row -> versions.put(row.getId(), row.getTokenVersion()));
+    }
+
+    @Override
+    public int currentVersion(Long userId) {
+        return versions.getOrDefault(userId, 0);
+    }
+
+    @Override
+    public void update(Long userId, int version) {
+        versions.merge(userId, version, Math::max);
+    }
+}
@@ -1,5 +1,6 @@
 package com.alisonpariela.blogmanager.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,6 +8,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -14,8 +16,6 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import org.springframework.security.core.userdetails.UserDetails;
 
-import org.springframework.security.core.userdetails.UserDetailsService;
-
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 
 import java.io.IOException;
@@ -26,13 +26,17 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService; 
+    private final UserPrincipalService userPrincipalService;
+    private final TokenVersionStore tokenVersionStore;
+
+    @Value("${jwt.stateless-auth:false}")
+    private boolean statelessAuth;
 
     @Override
 protected void doFilterInternal(HttpServletRequest request,
                                 HttpServletResponse response,
                                 FilterChain filterChain) throws ServletException, IOException {
-    
+
     final String authHeader = request.getHeader("Authorization");
     final String jwt;
     final String userEmail;
@@ -43,22 +47,36 @@ protected void doFilterInternal(HttpServletRequest request,
     }
 
     jwt = authHeader.substring(7);
-    userEmail = jwtService.extractUsername(jwt);
+    Claims claims = jwtService.parseClaims(jwt);
+    userEmail = claims.getSubject();
 
     if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-        UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+        UserDetails userDetails = resolvePrincipal(claims);
 
-        if (jwtService.isTokenValid(jwt, userDetails)) {
+        if (userDetails != null && jwtService.isTokenValid(claims, userDetails)) {
             UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                     userDetails,
                     null,
                     userDetails.getAuthorities()
             );
             authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            
+
             SecurityContextHolder.getContext().setAuthentication(authToken);
         }
     }
     filterChain.doFilter(request, response);
 }
+
+    // In stateless mode the principal comes from the token itself; only the
+    // revocation table is consulted. Older tokens fall back to the user lookup.
+    private UserDetails resolvePrincipal(Claims claims) {
+        if (statelessAuth) {
+            UserPrincipal principal = jwtService.principalFromClaims(claims);
+            if (principal != null) {
+                int currentVersion = tokenVersionStore.currentVersion(principal.getId());
+                return jwtService.isTokenRevoked(claims, currentVersion) ? null : principal;
+            }
+        }
+        return userPrincipalService.loadPrincipal(claims.getSubject());
+    }
 }
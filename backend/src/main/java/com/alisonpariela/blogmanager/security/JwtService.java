@@ -1,23 +1,40 @@
 package com.alisonpariela.blogmanager.security;
 
+import com.alisonpariela.blogmanager.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
@@ -27,22 +44,70 @@ public class JwtService {
     @Value("${jwt.refresh-expiration}")
     private long refreshExpiration;
 
+    @Value("${jwt.verification-cache.max-size:10000}")
+    private long verificationCacheMaxSize;
+
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    private Key signingKey;
+    private JwtParser parser;
+    private Cache<String, Claims> verifiedTokens;
+    private Timer verified;
+    private Timer rejected;
+
+    @Autowired(required = false)
+    void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        signingKey = Keys.hmacShaKeyFor(keyBytes);
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verificationCacheMaxSize)
+                .expireAfter(Expiry.creating((String token, Claims claims) ->
+                        Duration.ofMillis(Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()))))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+        verified = Timer.builder("jwt.verify").tag("outcome", "valid").register(meterRegistry);
+        rejected = Timer.builder("jwt.verify").tag("outcome", "invalid").register(meterRegistry);
+    }
+
     // ── Extract claims ──────────────────────────────────────────────────────────
 
+    /**
+     * Verifies the token signature and expiry once and returns its claims.
+     * Recently verified tokens are served from a bounded cache until they expire.
+     * The returned claims are shared and must not be modified.
+     */
+    public Claims parseClaims(String token) {
+        return verifiedTokens.get(token, this::extractAllClaims);
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        return claimsResolver.apply(extractAllClaims(token));
+        return claimsResolver.apply(parseClaims(token));
     }
 
+    // Signature and expiry checks; only cache misses get here.
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        long start = System.nanoTime();
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            verified.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            rejected.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
     }
 
     // ── Generate tokens ─────────────────────────────────────────────────────────
@@ -60,34 +125,80 @@ public class JwtService {
     }
 
     private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        if (userDetails instanceof User) {
+            User user = (User) userDetails;
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        }
         return Jwts.builder()
-                .setClaims(extraClaims)
+                .setClaims(claims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     // ── Validate ────────────────────────────────────────────────────────────────
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+        return isTokenValid(parseClaims(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    // The id check stops tokens of a purged account from passing for a later
+    // account registered under the same username.
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        return username.equals(userDetails.getUsername())
+                && (userId == null || userId.equals(userId(userDetails)))
+                && !isTokenExpired(claims)
+                && !isTokenRevoked(claims, currentTokenVersion(userDetails));
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenRevoked(Claims claims, int currentVersion) {
+        Integer version = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+        // Tokens issued before versioning carry no claim and are only bounded by expiry.
+        return version != null && version < currentVersion;
     }
 
-    // ── Key ─────────────────────────────────────────────────────────────────────
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
+    }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static Long userId(UserDetails userDetails) {
+        if (userDetails instanceof User) {
+            return ((User) userDetails).getId();
+        }
+        if (userDetails instanceof UserPrincipal) {
+            return ((UserPrincipal) userDetails).getId();
+        }
+        return null;
+    }
+
+    private int currentTokenVersion(UserDetails userDetails) {
+        if (userDetails instanceof User) {
+            return ((User) userDetails).getTokenVersion();
+        }
+        if (userDetails instanceof UserPrincipal) {
+            return ((UserPrincipal) userDetails).getTokenVersion();
+        }
+        return 0;
+    }
+
+    // ── Stateless principal ─────────────────────────────────────────────────────
+
+    /**
+     * Builds the principal directly from verified claims, or returns null for
+     * tokens issued before the id and version claims were embedded.
+     */
+    public UserPrincipal principalFromClaims(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        Integer version = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+        if (userId == null || version == null) {
+            return null;
+        }
+        return new UserPrincipal(userId, claims.getSubject(), version);
     }
 }
@@ -0,0 +1,54 @@
+package com.alisonpariela.blogmanager.security;
+
+import com.alisonpariela.blogmanager.repository.PurgedUserRepository;
+import com.alisonpariela.blogmanager.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Token version table shared by all replicas through a Redis hash. Versions
+ * only move up, as in the in-memory store: a replica loading an older snapshot
+ * or revocations committed out of order cannot lower them.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.token-version-store", havingValue = "redis")
+public class RedisTokenVersionStore implements TokenVersionStore {
+
+    private static final String KEY = "auth:token-versions";
+    private static final RedisScript<Long> RAISE =
+            RedisScript.of(new ClassPathResource("scripts/token-version.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserRepository userRepository;
+    private final PurgedUserRepository purgedUserRepository;
+
+    @PostConstruct
+    void load() {
+        userRepository.findRevokedTokenVersions()
+                .forEach(row -> update(row.getId(), row.getTokenVersion()));
+        // Purged users are gone from the users table but their tokens may still be live.
+        purgedUserRepository.findActiveTokenVersions(LocalDateTime.now())
+                .forEach(row -> update(row.getId(), row.getTokenVersion()));
+    }
+
+    @Override
+    public int currentVersion(Long userId) {
+        Object version = redisTemplate.opsForHash().get(KEY, userId.toString());
+        return version == null ? 0 : Integer.parseInt(version.toString());
+    }
+
+    @Override
+    public void update(Long userId, int version) {
+        redisTemplate.execute(RAISE, List.of(KEY), userId.toString(), Integer.toString(version));
+    }
+}
@@ -0,0 +1,12 @@
+package com.alisonpariela.blogmanager.security;
+
+/**
+ * Lookup table of the minimum token version each user still accepts.
+ * Users without an entry accept every version.
+ */
+public interface TokenVersionStore {
+
+    int currentVersion(Long userId);
+
+    void update(Long userId, int version);
+}
@@ -0,0 +1,38 @@
+package com.alisonpariela.blogmanager.security;
+
+import com.alisonpariela.blogmanager.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Lightweight authenticated principal. Holds only what request handling needs,
+ * so it can be cached without keeping entities or password hashes around.
+ */
+@Getter
+@AllArgsConstructor
+public class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String username;
+    private final int tokenVersion;
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getTokenVersion());
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,40 @@
+package com.alisonpariela.blogmanager.security;
+
+import com.alisonpariela.blogmanager.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves the principal for an authenticated request. Results are cached by
+ * username so the JWT filter does not query the users table on every call.
+ */
+@Service
+public class UserPrincipalService {
+
+    public static final String CACHE_NAME = "principals";
+
+    private final UserRepository userRepository;
+    // Only cache misses reach the repository, so this times the database lookup alone.
+    private final Timer lookups;
+
+    public UserPrincipalService(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.lookups = Timer.builder("user.lookup").tag("source", "principal").register(meterRegistry);
+    }
+
+    @Cacheable(cacheNames = CACHE_NAME, key = "#username")
+    public UserPrincipal loadPrincipal(String username) {
+        return lookups.record(() -> userRepository.findByUsername(username))
+                .map(UserPrincipal::from)
+                .orElseThrow(() -> new UsernameNotFoundException(String.format("User not found %s", username)));
+    }
+
+    @CacheEvict(cacheNames = CACHE_NAME, key = "#username")
+    public void evict(String username) {
+    }
+}
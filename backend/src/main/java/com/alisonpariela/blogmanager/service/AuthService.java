@@ -4,9 +4,11 @@ import com.alisonpariela.blogmanager.DTO.AuthResponse;
 import com.alisonpariela.blogmanager.DTO.LoginRequest;
 import com.alisonpariela.blogmanager.DTO.RegisterRequest;
 
+import com.alisonpariela.blogmanager.availability.UserAvailabilityService;
 import com.alisonpariela.blogmanager.model.User;
 import com.alisonpariela.blogmanager.repository.UserRepository;
 import com.alisonpariela.blogmanager.security.JwtService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -24,18 +26,13 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final UserAvailabilityService userAvailabilityService;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    // Taken usernames and emails surface as unique constraint violations on insert.
     public AuthResponse register(RegisterRequest request) {
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new IllegalArgumentException("Username already taken");
-        }
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new IllegalArgumentException("Email already registered");
-        }
-
         User user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
@@ -44,6 +41,7 @@ public class AuthService {
 
         log.debug("User created", user.toString());
 
+        userAvailabilityService.add(user.getUsername(), user.getEmail());
         userRepository.save(user);
         return buildAuthResponse(user);
     }
@@ -60,11 +58,11 @@ public class AuthService {
     }
 
     public AuthResponse refreshToken(String refreshToken) {
-        String username = jwtService.extractUsername(refreshToken);
-        User user = userRepository.findByUsername(username)
+        Claims claims = jwtService.parseClaims(refreshToken);
+        User user = userRepository.findByUsername(claims.getSubject())
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        if (!jwtService.isTokenValid(refreshToken, user)) {
+        if (!jwtService.isTokenValid(claims, user)) {
             throw new IllegalArgumentException("Invalid refresh token");
         }
 
@@ -0,0 +1,72 @@
+package com.alisonpariela.blogmanager.service;
+
+import com.alisonpariela.blogmanager.DTO.PostDTO;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strong ETags for posts and post listings. A post's tag is its id, its
+ * modification stamp and a hash of the author name, which a rename changes
+ * without touching the post; a listing's tag is the owner's cache version token,
+ * which every mutation replaces, plus the shape of the request.
+ */
+public final class PostETags {
+
+    private PostETags() {
+    }
+
+    public static String post(Long id, LocalDateTime lastUpdatedAt, String author) {
+        long micros = 0;
+        if (lastUpdatedAt != null) {
+            // Databases keep microseconds, so the tag survives a round trip.
+            LocalDateTime stamp = lastUpdatedAt.truncatedTo(ChronoUnit.MICROS);
+            micros = stamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + stamp.getNano() / 1_000;
+        }
+        return "\"" + id + "-" + Long.toString(micros, 36) + authorSuffix(author) + "\"";
+    }
+
+    public static String post(PostDTO post) {
+        return post(post.getId(), post.getLastUpdatedAt(), post.getAuthor());
+    }
+
+    public static String listing(String version, String requestKey) {
+        return "\"" + version + "-" + Integer.toHexString(requestKey.hashCode()) + "\"";
+    }
+
+    /**
+     * Modification stamps of the given post named by an If-Match header value, so
+     * the condition can be checked by the database. Returns null for "*", which
+     * matches any existing post; weak tags, tags of other posts and tags issued
+     * under another author name never match.
+     */
+    public static List<LocalDateTime> stamps(String ifMatch, Long id, String author) {
+        String prefix = "\"" + id + "-";
+        String suffix = authorSuffix(author) + "\"";
+        List<LocalDateTime> stamps = new ArrayList<>();
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return null;
+            }
+            if (tag.startsWith(prefix) && tag.endsWith(suffix) && tag.length() > prefix.length() + suffix.length()) {
+                try {
+                    long micros = Long.parseLong(tag.substring(prefix.length(), tag.length() - suffix.length()), 36);
+                    stamps.add(LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                            (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC));
+                } catch (NumberFormatException e) {
+                    // Not one of ours; cannot match.
+                }
+            }
+        }
+        return stamps;
+    }
+
+    // Hex digits only, so it cannot be mistaken for part of a negative stamp.
+    private static String authorSuffix(String author) {
+        return "-" + Integer.toHexString(author == null ? 0 : author.hashCode());
+    }
+}
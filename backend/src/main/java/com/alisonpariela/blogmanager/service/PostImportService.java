@@ -0,0 +1,199 @@
+package com.alisonpariela.blogmanager.service;
+
+import com.alisonpariela.blogmanager.DTO.ImportReport;
+import com.alisonpariela.blogmanager.DTO.PostDTO;
+import com.alisonpariela.blogmanager.DTO.PostRequest;
+import com.alisonpariela.blogmanager.cache.PostPageCache;
+import com.alisonpariela.blogmanager.model.Post;
+import com.alisonpariela.blogmanager.model.User;
+import com.alisonpariela.blogmanager.repository.PostRepository;
+import com.alisonpariela.blogmanager.repository.UserRepository;
+import com.alisonpariela.blogmanager.security.AuthUtil;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk post import. The body is read incrementally and rows are committed in
+ * fixed-size batches, each in its own transaction, so only one batch is held in
+ * memory. Since reading stops while a batch is written, a fast client is slowed
+ * down by TCP flow control rather than buffered on the server. Bad rows are
+ * reported and skipped; they do not abort the run.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostImportService {
+
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final PostPageCache postPageCache;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${posts.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${posts.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    public ImportReport importNdjson(InputStream body) throws IOException {
+        ImportRun run = new ImportRun(AuthUtil.getAuthenticatedUserId(), AuthUtil.getAuthenticatedUsername());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                run.add(lineNumber, jsonMapper.readValue(line, PostRequest.class));
+            } catch (JacksonException e) {
+                run.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        return run.finish();
+    }
+
+    public ImportReport importCsv(InputStream body) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV body is empty");
+        }
+        List<String> columns = header.stream().map(c -> c.trim().toLowerCase(Locale.ROOT)).toList();
+        int titleColumn = columns.indexOf("title");
+        int contentsColumn = columns.indexOf("contents");
+        if (titleColumn < 0 || contentsColumn < 0) {
+            throw new IllegalArgumentException("CSV header must contain title and contents columns");
+        }
+
+        ImportRun run = new ImportRun(AuthUtil.getAuthenticatedUserId(), AuthUtil.getAuthenticatedUsername());
+        try {
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                if (record.size() != columns.size()) {
+                    run.reject(reader.recordLine(), "Expected " + columns.size() + " fields but found " + record.size());
+                    continue;
+                }
+                PostRequest request = new PostRequest();
+                request.setTitle(record.get(titleColumn));
+                request.setContents(record.get(contentsColumn));
+                run.add(reader.recordLine(), request);
+            }
+        } catch (IllegalArgumentException e) {
+            // Malformed quoting swallows the rest of the input; keep what was already read.
+            run.reject(reader.recordLine(), e.getMessage());
+        }
+        return run.finish();
+    }
+
+    private class ImportRun {
+        private final Long userId;
+        private final String author;
+        private final List<PostRequest> batch = new ArrayList<>(batchSize);
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+        private long batchFirstLine;
+        private long imported;
+        private long failed;
+
+        ImportRun(Long userId, String author) {
+            this.userId = userId;
+            this.author = author;
+        }
+
+        void add(long line, PostRequest request) {
+            Set<ConstraintViolation<PostRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(line, violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", ")));
+                return;
+            }
+            if (batch.isEmpty()) {
+                batchFirstLine = line;
+            }
+            batch.add(request);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportReport.RowError(line, message));
+            }
+        }
+
+        ImportReport finish() {
+            flush();
+            return new ImportReport(imported, failed, errors, failed > errors.size());
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    User user = userRepository.getReferenceById(userId);
+                    List<Post> posts = new ArrayList<>(batch.size());
+                    for (PostRequest request : batch) {
+                        Post post = new Post();
+                        post.setTitle(request.getTitle());
+                        post.setContents(request.getContents());
+                        post.setUser(user);
+                        posts.add(post);
+                    }
+                    postRepository.saveAll(posts);
+                    postRepository.flush();
+                    // Per batch, as the import may stop before finish() and listings must not outlive committed rows.
+                    postPageCache.invalidate(userId);
+                    eventPublisher.publishEvent(PostsChangedEvent.saved(userId,
+                            posts.stream().map(post -> PostDTO.from(post, author)).toList()));
+                });
+                imported += batch.size();
+            } catch (RuntimeException e) {
+                log.warn("Import batch starting at line {} failed", batchFirstLine, e);
+                failed += batch.size();
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(new ImportReport.RowError(batchFirstLine,
+                            "Batch of " + batch.size() + " rows starting here was not imported"));
+                }
+            } finally {
+                // The request-scoped persistence context outlives each transaction; drop the batch from it.
+                entityManager.clear();
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.alisonpariela.blogmanager.service;
+
+import com.alisonpariela.blogmanager.DTO.PostSearchResultDTO;
+import com.alisonpariela.blogmanager.search.PostSearchEngine;
+import com.alisonpariela.blogmanager.security.AuthUtil;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class PostSearchService {
+
+    private static final int MAX_QUERY_LENGTH = 256;
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final PostSearchEngine postSearchEngine;
+
+    public Page<PostSearchResultDTO> search(String query, Pageable pageable){
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        Pageable page = PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), MAX_PAGE_SIZE));
+        return postSearchEngine.search(AuthUtil.getAuthenticatedUserId(), query.trim(), page);
+    }
+}
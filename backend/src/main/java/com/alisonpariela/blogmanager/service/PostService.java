@@ -1,16 +1,29 @@
 package com.alisonpariela.blogmanager.service;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.alisonpariela.blogmanager.DTO.BatchUpdatePostRequest;
+import com.alisonpariela.blogmanager.DTO.CursorPage;
+import com.alisonpariela.blogmanager.cache.CachedPage;
+import com.alisonpariela.blogmanager.cache.PostPageCache;
+import com.alisonpariela.blogmanager.DTO.PostDTO;
+import com.alisonpariela.blogmanager.DTO.PostRequest;
+import com.alisonpariela.blogmanager.DTO.PostSummaryDTO;
+import com.alisonpariela.blogmanager.exception.PreconditionFailedException;
 import com.alisonpariela.blogmanager.repository.PostRepository;
+import com.alisonpariela.blogmanager.repository.PostWriteRepository;
 import com.alisonpariela.blogmanager.repository.UserRepository;
 import com.alisonpariela.blogmanager.security.AuthUtil;
 
 import jakarta.transaction.Transactional;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 
 import com.alisonpariela.blogmanager.model.Post;
 import com.alisonpariela.blogmanager.model.User;
@@ -18,62 +31,276 @@ import com.alisonpariela.blogmanager.model.User;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.security.access.AccessDeniedException;
 
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class PostService {
     
     private final PostRepository postRepository;
+    private final PostWriteRepository postWriteRepository;
     private final UserRepository userRepository; 
+    private final PostPageCache postPageCache;
+    private final JsonMapper jsonMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${posts.batch.max-size:1000}")
+    private int maxBatchSize;
 
+    // Writes every post of the current user as one JSON object per line. Rows are
+    // projected straight to DTOs, so nothing accumulates in the persistence context
+    // and memory stays flat regardless of how many posts are exported.
     @Transactional
-    public Post createPost(String title, String contents){
+    public long exportUserPosts(OutputStream out){
         Long userId = AuthUtil.getAuthenticatedUserId();
+        ObjectWriter writer = jsonMapper.writerFor(PostDTO.class);
 
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new EntityNotFoundException("User not found")); 
+        long count = 0;
+        try (Stream<PostDTO> posts = postRepository.streamUserPosts(userId)) {
+            for (PostDTO post : (Iterable<PostDTO>) posts::iterator) {
+                out.write(writer.writeValueAsBytes(post));
+                out.write('\n');
+                count++;
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
 
-        Post post = new Post();
-        post.setTitle(title);
-        post.setContents(contents);
-        post.setUser(user); 
+    @Transactional
+    public PostDTO createPost(String title, String contents){
+        Long userId = AuthUtil.getAuthenticatedUserId();
+
+        User user = userRepository.getReferenceById(userId);
+
+        Post post = newPost(title, contents, user);
 
-        return postRepository.save(post);
+        PostDTO created = PostDTO.from(postRepository.saveAndFlush(post), AuthUtil.getAuthenticatedUsername());
+        postsChanged(PostsChangedEvent.saved(userId, List.of(created)));
+        return created;
     }
 
     @Transactional
-    public Post updatePost(Long postId, String title, String contents){
+    public List<PostDTO> createPosts(List<PostRequest> requests){
+        checkBatchSize(requests.size());
         Long userId = AuthUtil.getAuthenticatedUserId();
+        String author = AuthUtil.getAuthenticatedUsername();
+
+        // A reference avoids loading the user; the inserts are flushed as JDBC batches.
+        User user = userRepository.getReferenceById(userId);
+        List<Post> posts = new ArrayList<>(requests.size());
+        for (PostRequest request : requests) {
+            posts.add(newPost(request.getTitle(), request.getContents(), user));
+        }
+        postRepository.saveAll(posts);
+        postRepository.flush();
 
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new EntityNotFoundException("Post not found"));
+        List<PostDTO> created = posts.stream().map(post -> PostDTO.from(post, author)).toList();
+        postsChanged(PostsChangedEvent.saved(userId, created));
+        return created;
+    }
+
+    /**
+     * Updates the post in one statement predicated on the owner and, when ifMatch
+     * is given, on the ETag it names. The post is only read again to explain a
+     * miss: changed since read (412), someone else's (403) or missing (404).
+     */
+    @Transactional
+    public PostDTO updatePost(Long postId, String title, String contents, String ifMatch){
+        Long userId = AuthUtil.getAuthenticatedUserId();
+        String author = AuthUtil.getAuthenticatedUsername();
+        List<LocalDateTime> expected = ifMatch == null ? null : PostETags.stamps(ifMatch, postId, author);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
 
-        if (!post.getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("You are not allowed to update this post"); 
+        Optional<LocalDateTime> createdAt = expected != null && expected.isEmpty()
+                ? Optional.empty()
+                : postWriteRepository.updateUserPost(postId, userId, title, contents, now, expected);
+        if (createdAt.isEmpty()) {
+            if (ifMatch != null && postRepository.findUserPostLastUpdatedAt(postId, userId).isPresent()) {
+                throw new PreconditionFailedException("Post has been modified since it was read");
+            }
+            throw postRepository.existsById(postId)
+                    ? new AccessDeniedException("You are not allowed to update this post")
+                    : new EntityNotFoundException("Post not found");
         }
 
-        post.setTitle(title);
-        post.setContents(contents);
+        PostDTO updated = new PostDTO(postId, title, contents, createdAt.get(), now, author);
+        postsChanged(PostsChangedEvent.saved(userId, List.of(updated)));
+        return updated;
+    }
+
+    // Listing tags come from the cache version token, so checking one costs no query.
+    public String getUserPostsETag(Pageable pageable, String view){
+        Long userId = AuthUtil.getAuthenticatedUserId();
+        return PostETags.listing(postPageCache.currentVersion(userId), view + ":" + pageKey(pageable));
+    }
+
+    public String getUserPostsAfterETag(String cursor, int size){
+        Long userId = AuthUtil.getAuthenticatedUserId();
+        return PostETags.listing(postPageCache.currentVersion(userId), "feed:" + size + ":" + (cursor == null ? "" : cursor));
+    }
+
+    /** Current ETag of one of the user's posts, or null if there is no such post. */
+    public String getPostETag(Long postId){
+        Long userId = AuthUtil.getAuthenticatedUserId();
+        return postRepository.findUserPostVersion(postId, userId)
+                .map(version -> PostETags.post(postId, version.getLastUpdatedAt(), version.getAuthor()))
+                .orElse(null);
+    }
+
+    public Page<PostDTO> getUserPosts(Pageable pageable){
+        Long userId = AuthUtil.getAuthenticatedUserId();
+
+        return postPageCache.get(PostPageCache.PAGES, userId, pageKey(pageable),
+                () -> CachedPage.of(postRepository.findUserPostViews(userId, pageable)))
+            .toPage(pageable);
+    }
+
+    public Page<PostSummaryDTO> getUserPostSummaries(Pageable pageable){
+        Long userId = AuthUtil.getAuthenticatedUserId();
 
-        return postRepository.save(post);
+        return postPageCache.get(PostPageCache.SUMMARIES, userId, pageKey(pageable),
+                () -> CachedPage.of(postRepository.findUserPostSummaries(userId, pageable)))
+            .toPage(pageable);
     }
 
-    public Page<Post> getUserPosts(Pageable pageable){
+    public PostDTO getPost(Long postId){
         Long userId = AuthUtil.getAuthenticatedUserId();
 
-        return postRepository.findUserPostsOrderedByDate(userId, pageable);
+        return postRepository.findUserPostView(postId, userId)
+                .orElseThrow(() -> postRepository.existsById(postId)
+                        ? new AccessDeniedException("You are not allowed to view this post")
+                        : new EntityNotFoundException("Post not found"));
+    }
+
+    public CursorPage<PostDTO> getUserPostsAfter(String cursor, int size){
+        Long userId = AuthUtil.getAuthenticatedUserId();
+
+        return postPageCache.get(PostPageCache.FEED, userId, size + ":" + (cursor == null ? "" : cursor),
+                () -> loadUserPostsAfter(userId, cursor, size));
+    }
+
+    private CursorPage<PostDTO> loadUserPostsAfter(Long userId, String cursor, int size){
+        Pageable limit = PageRequest.of(0, size);
+
+        Slice<PostDTO> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = postRepository.findUserPostsFirstSlice(userId, limit);
+        } else {
+            PostCursor after = PostCursor.decode(cursor);
+            slice = postRepository.findUserPostsSliceBefore(userId, after.getCreatedAt(), after.getId(), limit);
+        }
+
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            PostDTO last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = new PostCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(slice.getContent(), nextCursor, slice.hasNext());
+    }
+
+    @Transactional
+    public List<PostDTO> updatePosts(List<BatchUpdatePostRequest> requests){
+        checkBatchSize(requests.size());
+        Long userId = AuthUtil.getAuthenticatedUserId();
+        String author = AuthUtil.getAuthenticatedUsername();
+
+        List<Long> ids = requests.stream().map(BatchUpdatePostRequest::getId).toList();
+        Map<Long, Post> posts = postRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        List<Post> updated = new ArrayList<>(requests.size());
+        for (BatchUpdatePostRequest request : requests) {
+            Post post = posts.get(request.getId());
+            if (post == null) {
+                throw new EntityNotFoundException("Post not found: " + request.getId());
+            }
+            if (!post.getUser().getId().equals(userId)) {
+                throw new AccessDeniedException("You are not allowed to update post " + request.getId());
+            }
+            post.setTitle(request.getTitle());
+            post.setContents(request.getContents());
+            updated.add(post);
+        }
+        postRepository.flush();
+
+        List<PostDTO> dtos = updated.stream().map(post -> PostDTO.from(post, author)).toList();
+        postsChanged(PostsChangedEvent.saved(userId, dtos));
+        return dtos;
     }
 
+    @Transactional
+    public void deletePosts(List<Long> postIds){
+        checkBatchSize(postIds.size());
+        Long userId = AuthUtil.getAuthenticatedUserId();
+
+        Set<Long> ids = new HashSet<>(postIds);
+        List<PostRepository.PostOwnerView> owners = postRepository.findOwners(ids);
+        for (PostRepository.PostOwnerView owner : owners) {
+            if (!owner.getUserId().equals(userId)) {
+                throw new AccessDeniedException("You are not allowed to delete post " + owner.getId());
+            }
+        }
+        if (owners.size() != ids.size()) {
+            owners.forEach(owner -> ids.remove(owner.getId()));
+            throw new EntityNotFoundException("Posts not found: " + ids);
+        }
+
+        postRepository.deleteUserPosts(ids, userId);
+        postsChanged(PostsChangedEvent.deleted(userId, ids));
+    }
+
+    // One statement predicated on the owner; existence is only checked to explain a miss.
     @Transactional
     public void deletePost(Long postId){
         Long userId = AuthUtil.getAuthenticatedUserId();
 
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new EntityNotFoundException("Post not found"));
+        if (postRepository.deleteUserPosts(List.of(postId), userId) == 0) {
+            throw postRepository.existsById(postId)
+                    ? new AccessDeniedException("You are not allowed to delete this post")
+                    : new EntityNotFoundException("Post not found");
+        }
+        postsChanged(PostsChangedEvent.deleted(userId, List.of(postId)));
+    }
+
+    private void postsChanged(PostsChangedEvent event){
+        postPageCache.invalidate(event.getUserId());
+        eventPublisher.publishEvent(event);
+    }
 
-        if (!post.getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("You are not allowed to delete this post"); 
+    private static Post newPost(String title, String contents, User user){
+        Post post = new Post();
+        post.setTitle(title);
+        post.setContents(contents);
+        post.setUser(user);
+        return post;
+    }
+
+    private void checkBatchSize(int size){
+        if (size == 0 || size > maxBatchSize) {
+            throw new IllegalArgumentException("Batch must contain between 1 and " + maxBatchSize + " posts");
         }
+    }
 
-        postRepository.delete(post);
+    private static String pageKey(Pageable pageable){
+        return pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
     }
 }
@@ -0,0 +1,30 @@
+package com.alisonpariela.blogmanager.service;
+
+import com.alisonpariela.blogmanager.DTO.PostDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published inside the writing transaction whenever a user's posts are created,
+ * updated or deleted. Listeners that mirror post data should bind to commit.
+ */
+@Getter
+@AllArgsConstructor
+public class PostsChangedEvent {
+
+    private final Long userId;
+    private final List<PostDTO> saved;
+    private final Collection<Long> deletedIds;
+
+    public static PostsChangedEvent saved(Long userId, List<PostDTO> posts) {
+        return new PostsChangedEvent(userId, posts, List.of());
+    }
+
+    public static PostsChangedEvent deleted(Long userId, Collection<Long> postIds) {
+        return new PostsChangedEvent(userId, List.of(), postIds);
+    }
+}
@@ -0,0 +1,130 @@
+package com.alisonpariela.blogmanager.service;
+
+import com.alisonpariela.blogmanager.cache.PostPageCache;
+import com.alisonpariela.blogmanager.model.PurgedUser;
+import com.alisonpariela.blogmanager.model.User;
+import com.alisonpariela.blogmanager.repository.PostRepository;
+import com.alisonpariela.blogmanager.repository.PurgedUserRepository;
+import com.alisonpariela.blogmanager.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Removes deleted accounts. Posts go first, a bounded chunk per transaction, so
+ * purging a prolific author never holds locks on more than chunk-size rows; the
+ * user row is deleted once none are left. Progress is simply what remains in the
+ * table, so a purge interrupted by a restart resumes on the next run. The user
+ * row is replaced by a {@link PurgedUser} tombstone that keeps its tokens
+ * revoked until they expire.
+ */
+@Slf4j
+@Service
+public class UserPurgeService {
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final PurgedUserRepository purgedUserRepository;
+    private final PostPageCache postPageCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter purgedPosts;
+    private final Counter purgedUsers;
+
+    @Value("${user.purge.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpiration;
+
+    @Value("${jwt.refresh-expiration}")
+    private long refreshExpiration;
+
+    public UserPurgeService(UserRepository userRepository,
+                            PostRepository postRepository,
+                            PurgedUserRepository purgedUserRepository,
+                            PostPageCache postPageCache,
+                            TransactionTemplate transactionTemplate,
+                            ApplicationEventPublisher eventPublisher,
+                            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.purgedUserRepository = purgedUserRepository;
+        this.postPageCache = postPageCache;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.purgedPosts = Counter.builder("user.purge.posts").register(meterRegistry);
+        this.purgedUsers = Counter.builder("user.purge.users").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${user.purge.interval:10s}", initialDelayString = "${user.purge.interval:10s}")
+    public void purgeDeletedUsers() {
+        transactionTemplate.executeWithoutResult(status -> purgedUserRepository.deleteExpired(LocalDateTime.now()));
+        for (Long userId : userRepository.findDeletedIds()) {
+            try {
+                purge(userId);
+            } catch (RuntimeException e) {
+                log.warn("Purge of user {} failed, retrying on the next run", userId, e);
+            }
+        }
+    }
+
+    private void purge(Long userId) {
+        long started = System.nanoTime();
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> deleteChunk(userId));
+            purged += deleted;
+            purgedPosts.increment(deleted);
+            if (deleted > 0) {
+                log.debug("Purged {} posts of user {} so far", purged, userId);
+            }
+        } while (deleted == chunkSize);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> deleteUser(userId));
+        } catch (DataIntegrityViolationException e) {
+            // A post committed after the last chunk; it goes on the next run.
+            log.info("User {} still has posts, retrying on the next run", userId);
+            return;
+        }
+        purgedUsers.increment();
+        log.info("Purged user {} and {} posts in {} ms", userId, purged, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void deleteUser(Long userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null || user.getDeletedAt() == null) {
+            return;
+        }
+        // Every token issued before the deletion has expired by then.
+        LocalDateTime expiresAt = LocalDateTime.now().plusNanos(Math.max(jwtExpiration, refreshExpiration) * 1_000_000);
+        purgedUserRepository.save(new PurgedUser(userId, user.getTokenVersion(), expiresAt));
+        userRepository.deletePurged(userId);
+    }
+
+    private int deleteChunk(Long userId) {
+        List<Long> ids = postRepository.findUserPostIds(userId, Limit.of(chunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = postRepository.deleteUserPosts(ids, userId);
+        postPageCache.invalidate(userId);
+        eventPublisher.publishEvent(PostsChangedEvent.deleted(userId, ids));
+        return deleted;
+    }
+}
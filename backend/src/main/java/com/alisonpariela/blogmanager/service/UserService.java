@@ -3,23 +3,39 @@ package com.alisonpariela.blogmanager.service;
 import org.springframework.stereotype.Service;
 
 import com.alisonpariela.blogmanager.DTO.UserDTO;
+import com.alisonpariela.blogmanager.availability.UserAvailabilityService;
+import com.alisonpariela.blogmanager.cache.PostPageCache;
+import com.alisonpariela.blogmanager.exception.ConstraintViolations;
 import com.alisonpariela.blogmanager.model.User;
 import com.alisonpariela.blogmanager.repository.UserRepository;
 import com.alisonpariela.blogmanager.security.AuthUtil;
+import com.alisonpariela.blogmanager.security.TokenVersionStore;
+import com.alisonpariela.blogmanager.security.UserPrincipalService;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
 
 @AllArgsConstructor
 @Service
 public class UserService{
     private final UserRepository userRepository;
+    private final UserPrincipalService userPrincipalService;
+    private final TokenVersionStore tokenVersionStore;
+    private final PostPageCache postPageCache;
+    private final UserAvailabilityService userAvailabilityService;
 
+    // Taken usernames and emails surface as unique constraint violations, flushed
+    // here so they can be reported with this operation's wording.
     @Transactional
     public UserDTO updateUser(Long userId, String username, String email) {
         Long authId = AuthUtil.getAuthenticatedUserId();
@@ -31,20 +47,34 @@ public class UserService{
             throw new AccessDeniedException("You are not permitted to update this user"); 
         }
 
-        if (!user.getUsername().equals(username) && userRepository.existsByUsername(username)) {
-            throw new IllegalArgumentException("Username already in use by another user");
-        }
-        if (!user.getEmail().equals(email) && userRepository.existsByEmail(email)) {
-            throw new IllegalArgumentException("Email already in use by another user");
+        userPrincipalService.evict(user.getUsername());
+        if (!user.getUsername().equals(username)) {
+            revokeTokens(user);
+            // Cached listings and their ETags carry the author name.
+            postPageCache.invalidate(user.getId());
         }
-
+        userAvailabilityService.add(username, email);
         user.setUsername(username);
         user.setEmail(email);
 
-        User saved = userRepository.save(user);
+        User saved;
+        try {
+            saved = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            String constraint = ConstraintViolations.name(e);
+            if (constraint.contains(User.USERNAME_CONSTRAINT)) {
+                throw new IllegalArgumentException("Username already in use by another user");
+            }
+            if (constraint.contains(User.EMAIL_CONSTRAINT)) {
+                throw new IllegalArgumentException("Email already in use by another user");
+            }
+            throw e;
+        }
         return new UserDTO(saved.getId(), saved.getUsername(), saved.getEmail());
     }
 
+    // Only disables the account; UserPurgeService removes its posts and the row in
+    // small transactions, so a prolific author does not hold locks for long.
     @Transactional 
     public void deleteUser(Long userId){
         Long authId = AuthUtil.getAuthenticatedUserId();
@@ -56,6 +86,23 @@ public class UserService{
             throw new AccessDeniedException("You are not permitted to delete this user"); 
         }
 
-        userRepository.delete(user);
+        userPrincipalService.evict(user.getUsername());
+        revokeTokens(user);
+        user.setDeletedAt(LocalDateTime.now());
+    }
+
+    // Tokens carry the version they were issued with; bumping it rejects every
+    // token issued before this change once the transaction commits.
+    private void revokeTokens(User user) {
+        int version = user.getTokenVersion() + 1;
+        user.setTokenVersion(version);
+
+        Long id = user.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tokenVersionStore.update(id, version);
+            }
+        });
     }
 }
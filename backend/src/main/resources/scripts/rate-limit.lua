@@ -0,0 +1,24 @@
+-- Token buckets in GCRA form: each key holds the theoretical arrival time in
+-- microseconds. Either every bucket has a token and all are charged, or none is.
+-- KEYS: bucket keys; ARGV: interval and burst (microseconds) for each key.
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+local next = {}
+local wait = 0
+for i, key in ipairs(KEYS) do
+  local interval = tonumber(ARGV[2 * i - 1])
+  local burst = tonumber(ARGV[2 * i])
+  local arrival = tonumber(redis.call('GET', key) or 0)
+  if arrival < now then
+    arrival = now
+  end
+  next[i] = arrival + interval
+  wait = math.max(wait, next[i] - now - burst)
+end
+if wait > 0 then
+  return wait
+end
+for i, key in ipairs(KEYS) do
+  redis.call('SET', key, string.format('%.0f', next[i]), 'PX', string.format('%.0f', math.ceil((next[i] - now) / 1000)))
+end
+return 0
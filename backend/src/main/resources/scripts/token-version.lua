@@ -0,0 +1,10 @@
+-- Raises a user's token version, never lowers it, so a stale snapshot or a
+-- late revocation callback cannot bring revoked tokens back.
+-- KEYS[1]: version hash; ARGV[1]: user id; ARGV[2]: version.
+local current = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or 0)
+local version = tonumber(ARGV[2])
+if version > current then
+  redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+  return version
+end
+return current
@@ -0,0 +1,79 @@
+package com.alisonpariela.blogmanager.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+class BloomFilterTest {
+
+    @Test
+    void sizesFromExpectedInsertionsAndFalsePositiveRate() {
+        BloomFilter filter = BloomFilter.create(100_000, 0.01);
+
+        // m = -n ln p / (ln 2)^2 and k = m / n ln 2
+        assertThat(filter.bitCount()).isEqualTo(958_506);
+        assertThat(filter.hashCount()).isEqualTo(7);
+        assertThat(BloomFilter.create(0, 0.5).bitCount()).isEqualTo(64);
+        assertThat(BloomFilter.create(1, 0.5).hashCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void rejectsFalsePositiveRatesOutsideTheOpenUnitInterval() {
+        assertThatThrownBy(() -> BloomFilter.create(10, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.create(10, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void neverReportsAnAddedValueAsAbsent() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i));
+
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("user" + i))).isTrue();
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheTargetAtCapacity() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("member-" + i + "@example.com"));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("stranger-" + i + "@example.com"))
+                .count();
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.015);
+        // At capacity about half of the bits are set, and fill^k approximates the false-positive rate.
+        assertThat(filter.fillRatio()).isBetween(0.45, 0.55);
+        assertThat(Math.pow(filter.fillRatio(), filter.hashCount())).isLessThan(0.015);
+    }
+
+    @Test
+    void fillRatioOnlyCountsNewlySetBits() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+        filter.put("alice");
+        double once = filter.fillRatio();
+        filter.put("alice");
+
+        assertThat(once).isEqualTo((double) filter.hashCount() / filter.bitCount(), offset(1e-12));
+        assertThat(filter.fillRatio()).isEqualTo(once);
+    }
+
+    @Test
+    void concurrentAdditionsAreAllVisible() throws InterruptedException {
+        BloomFilter filter = BloomFilter.create(40_000, 0.01);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t * 10_000;
+            threads[t] = new Thread(() -> IntStream.range(offset, offset + 10_000).forEach(i -> filter.put("n" + i)));
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(IntStream.range(0, 40_000).allMatch(i -> filter.mightContain("n" + i))).isTrue();
+    }
+}
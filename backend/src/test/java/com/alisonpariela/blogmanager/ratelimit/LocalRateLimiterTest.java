@@ -0,0 +1,110 @@
+package com.alisonpariela.blogmanager.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimiterTest {
+
+    private final LocalRateLimiter limiter = new LocalRateLimiter(1000, Duration.ofMinutes(1));
+
+    @Test
+    void allowsAFullBurstThenRejectsWithTheTimeToTheNextToken() {
+        RateLimit limit = new RateLimit("burst", 5, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(List.of(limit))).isZero();
+        }
+        long wait = limiter.tryAcquire(List.of(limit));
+
+        assertThat(wait).isPositive().isLessThanOrEqualTo(limit.intervalNanos());
+    }
+
+    @Test
+    void rejectionsDoNotSpendTokens() {
+        RateLimit limit = new RateLimit("rejected", 1, Duration.ofMinutes(1));
+        limiter.tryAcquire(List.of(limit));
+
+        long first = limiter.tryAcquire(List.of(limit));
+        long second = limiter.tryAcquire(List.of(limit));
+
+        // The wait shrinks with time instead of growing with every refused attempt.
+        assertThat(second).isLessThanOrEqualTo(first);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() throws InterruptedException {
+        RateLimit limit = new RateLimit("refill", 2, Duration.ofSeconds(1));
+        limiter.tryAcquire(List.of(limit));
+        limiter.tryAcquire(List.of(limit));
+
+        long wait = limiter.tryAcquire(List.of(limit));
+        assertThat(wait).isPositive();
+
+        TimeUnit.NANOSECONDS.sleep(wait + TimeUnit.MILLISECONDS.toNanos(10));
+        assertThat(limiter.tryAcquire(List.of(limit))).isZero();
+        assertThat(limiter.tryAcquire(List.of(limit))).isPositive();
+    }
+
+    @Test
+    void idleBucketRefillsOnlyUpToCapacity() throws InterruptedException {
+        RateLimit limit = new RateLimit("idle", 2, Duration.ofMillis(100));
+        limiter.tryAcquire(List.of(limit));
+
+        Thread.sleep(300);
+
+        assertThat(limiter.tryAcquire(List.of(limit))).isZero();
+        assertThat(limiter.tryAcquire(List.of(limit))).isZero();
+        assertThat(limiter.tryAcquire(List.of(limit))).isPositive();
+    }
+
+    @Test
+    void keysAreIndependent() {
+        RateLimit alice = new RateLimit("user:alice", 1, Duration.ofMinutes(1));
+        RateLimit bob = new RateLimit("user:bob", 1, Duration.ofMinutes(1));
+
+        assertThat(limiter.tryAcquire(List.of(alice))).isZero();
+        assertThat(limiter.tryAcquire(List.of(alice))).isPositive();
+        assertThat(limiter.tryAcquire(List.of(bob))).isZero();
+    }
+
+    @Test
+    void everyLimitMustAdmitTheRequest() {
+        RateLimit address = new RateLimit("addr", 3, Duration.ofMinutes(1));
+        RateLimit username = new RateLimit("name", 1, Duration.ofMinutes(1));
+
+        assertThat(limiter.tryAcquire(List.of(address, username))).isZero();
+        assertThat(limiter.tryAcquire(List.of(address, username))).isPositive();
+        assertThat(limiter.tryAcquire(List.of(address, username))).isPositive();
+
+        // Refused attempts charge no bucket, as with the Redis script.
+        assertThat(limiter.tryAcquire(List.of(address))).isZero();
+        assertThat(limiter.tryAcquire(List.of(address))).isZero();
+        assertThat(limiter.tryAcquire(List.of(address))).isPositive();
+    }
+
+    @Test
+    void rejectionByAnEarlierLimitLeavesLaterOnesUntouched() {
+        RateLimit address = new RateLimit("addr-first", 1, Duration.ofMinutes(1));
+        RateLimit username = new RateLimit("name-second", 1, Duration.ofMinutes(1));
+        limiter.tryAcquire(List.of(address));
+
+        assertThat(limiter.tryAcquire(List.of(address, username))).isPositive();
+        assertThat(limiter.tryAcquire(List.of(username))).isZero();
+    }
+
+    @Test
+    void waitIsTheLongestOfTheRefusingLimits() {
+        RateLimit fast = new RateLimit("fast", 1, Duration.ofSeconds(1));
+        RateLimit slow = new RateLimit("slow", 1, Duration.ofMinutes(1));
+        limiter.tryAcquire(List.of(fast, slow));
+
+        long wait = limiter.tryAcquire(List.of(fast, slow));
+
+        assertThat(wait).isGreaterThan(Duration.ofSeconds(1).toNanos());
+    }
+}
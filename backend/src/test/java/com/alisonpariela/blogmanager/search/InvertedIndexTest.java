@@ -0,0 +1,139 @@
+package com.alisonpariela.blogmanager.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    @Test
+    void matchesEveryQueryTermAndRanksTitleHitsFirst() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "Running tips", "How to train for a marathon");
+        index.put(2, "Cooking", "Running late, so pasta again. Marathon carbs.");
+        index.put(3, "Gardening", "Nothing about that here");
+
+        InvertedIndex.Result result = index.search("marathon RUNNING", 10);
+
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.hits()).extracting(InvertedIndex.Hit::postId).containsExactly(1L, 2L);
+        assertThat(index.search("marathon gardening", 10).total()).isZero();
+        assertThat(index.search("unknown", 10)).isSameAs(InvertedIndex.Result.EMPTY);
+        assertThat(index.search("  ,; ", 10)).isSameAs(InvertedIndex.Result.EMPTY);
+    }
+
+    @Test
+    void putReplacesThePreviousVersionOfAPost() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(7, "old title", "old words");
+        index.put(7, "new title", "new words");
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("old", 10).total()).isZero();
+        assertThat(index.search("new", 10).hits()).extracting(InvertedIndex.Hit::postId).containsExactly(7L);
+    }
+
+    @Test
+    void limitKeepsTheBestHitsButCountsAll() {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 50; id++) {
+            index.put(id, id % 10 == 0 ? "common" : "other", "common");
+        }
+
+        InvertedIndex.Result result = index.search("common", 5);
+
+        assertThat(result.total()).isEqualTo(50);
+        assertThat(result.hits()).extracting(InvertedIndex.Hit::postId).containsExactly(50L, 40L, 30L, 20L, 10L);
+    }
+
+    // Long, sparse and interleaved postings exercise the galloping seek from every cursor position.
+    @Test
+    void intersectionsAgreeWithABruteForceScan() {
+        Random random = new Random(42);
+        InvertedIndex index = new InvertedIndex();
+        Map<Long, Set<String>> documents = new HashMap<>();
+        String[] vocabulary = {"a", "b", "c", "d", "e", "rare", "often"};
+        for (long id = 1; id <= 5000; id++) {
+            StringBuilder contents = new StringBuilder("often");
+            for (String term : vocabulary) {
+                double p = term.equals("rare") ? 0.003 : term.length() == 1 ? 0.3 : 0;
+                if (random.nextDouble() < p) {
+                    contents.append(' ').append(term);
+                }
+            }
+            index.put(id, "", contents.toString());
+            documents.put(id, Set.copyOf(InvertedIndex.tokenize(contents.toString())));
+        }
+
+        for (String query : List.of("rare often", "a b", "a b c", "rare a", "often", "e rare d", "a b c d e")) {
+            Set<String> terms = Set.copyOf(InvertedIndex.tokenize(query));
+            Set<Long> expected = documents.entrySet().stream()
+                    .filter(doc -> doc.getValue().containsAll(terms))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toSet());
+
+            InvertedIndex.Result result = index.search(query, Integer.MAX_VALUE);
+
+            assertThat(result.total()).as(query).isEqualTo(expected.size());
+            assertThat(result.hits()).extracting(InvertedIndex.Hit::postId).as(query)
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void compactionRemapsSurvivingDocuments() {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 3000; id++) {
+            index.put(id, "post", id % 2 == 0 ? "even" : "odd");
+        }
+        // Dropping 2000 posts leaves more dead than live documents, which triggers compaction.
+        for (long id = 1; id <= 2000; id++) {
+            index.remove(id);
+        }
+        index.remove(123_456);
+
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(index.search("post", Integer.MAX_VALUE).hits()).extracting(InvertedIndex.Hit::postId)
+                .containsExactlyInAnyOrderElementsOf(range(2001, 3000));
+        assertThat(index.search("even post", Integer.MAX_VALUE).total()).isEqualTo(500);
+
+        index.put(1, "post", "even");
+        index.put(2999, "post", "renamed");
+        assertThat(index.search("even", Integer.MAX_VALUE).hits()).extracting(InvertedIndex.Hit::postId)
+                .contains(1L).doesNotContain(2L);
+        assertThat(index.search("renamed", 10).hits()).extracting(InvertedIndex.Hit::postId).containsExactly(2999L);
+        assertThat(index.search("odd", Integer.MAX_VALUE).total()).isEqualTo(499);
+    }
+
+    @Test
+    void highlightEscapesTextAndMarksWholeQueryTerms() {
+        String snippet = InvertedIndex.highlight("Use <b>bold</b> & \"quotes\" for a Marathon, not marathoner", "marathon bold", 200);
+
+        assertThat(snippet).isEqualTo("Use &lt;b&gt;<mark>bold</mark>&lt;/b&gt; &amp; &quot;quotes&quot;"
+                + " for a <mark>Marathon</mark>, not marathoner");
+    }
+
+    @Test
+    void highlightWindowStartsNearTheFirstMatchOnAWordBoundary() {
+        String text = "lorem ipsum ".repeat(40) + "needle at the end";
+
+        String snippet = InvertedIndex.highlight(text, "needle", 40);
+
+        assertThat(snippet).contains("<mark>needle</mark>");
+        assertThat(snippet).doesNotStartWith("psum").doesNotStartWith("rem");
+        assertThat(InvertedIndex.highlight("no match <here>", "absent", 8)).isEqualTo("no match");
+        assertThat(InvertedIndex.highlight(null, "x", 8)).isNull();
+    }
+
+    private static List<Long> range(long from, long to) {
+        return LongStream.rangeClosed(from, to).boxed().toList();
+    }
+}
@@ -0,0 +1,72 @@
+package com.alisonpariela.blogmanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void readsPlainRecordsAndTracksTheirLines() throws IOException {
+        CsvRecordReader reader = reader("title,contents\nfirst,one\r\nsecond,two");
+
+        assertThat(reader.next()).containsExactly("title", "contents");
+        assertThat(reader.recordLine()).isEqualTo(1);
+        assertThat(reader.next()).containsExactly("first", "one");
+        assertThat(reader.next()).containsExactly("second", "two");
+        assertThat(reader.recordLine()).isEqualTo(3);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void quotedFieldsKeepCommasDoubledQuotesAndLineBreaks() throws IOException {
+        CsvRecordReader reader = reader("\"a, b\",\"say \"\"hi\"\"\"\n\"line one\nline two\",x\nnext,\"\"\n");
+
+        assertThat(reader.next()).containsExactly("a, b", "say \"hi\"");
+        assertThat(reader.next()).containsExactly("line one\nline two", "x");
+        assertThat(reader.recordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("next", "");
+        // The multiline field moved the line count on.
+        assertThat(reader.recordLine()).isEqualTo(4);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void emptyFieldsAndBlankLinesAreKept() throws IOException {
+        CsvRecordReader reader = reader(",,\n\nlast,");
+
+        assertThat(reader.next()).containsExactly("", "", "");
+        assertThat(reader.next()).containsExactly("");
+        assertThat(reader.next()).containsExactly("last", "");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void quotesInsideUnquotedFieldsAreLiteral() throws IOException {
+        assertThat(reader("5\" tall,ok\n").next()).containsExactly("5\" tall", "ok");
+    }
+
+    @Test
+    void unterminatedQuoteNamesTheRecordLine() throws IOException {
+        CsvRecordReader reader = reader("ok,row\n\"open,\nnever closed");
+        reader.next();
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unterminated quoted field starting on line 2");
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertThat(reader("").next()).isNull();
+    }
+
+    private static CsvRecordReader reader(String csv) {
+        return new CsvRecordReader(new StringReader(csv));
+    }
+}
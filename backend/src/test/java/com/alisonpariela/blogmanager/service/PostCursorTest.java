@@ -0,0 +1,51 @@
+package com.alisonpariela.blogmanager.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostCursorTest {
+
+    @Test
+    void roundTripsCreatedAtAndId() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 2, 3, 4, 5, 123_456_000);
+
+        PostCursor decoded = PostCursor.decode(new PostCursor(createdAt, 987L).encode());
+
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(decoded.getId()).isEqualTo(987L);
+    }
+
+    @Test
+    void encodingIsUrlSafeWithoutPadding() {
+        String cursor = new PostCursor(LocalDateTime.of(2026, 1, 2, 3, 4), 1L).encode();
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "!!!not-base64!!!", "abc", "YWJj====="})
+    void rejectsGarbage(String cursor) {
+        assertThatThrownBy(() -> PostCursor.decode(cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2026-01-02T03:04|", "2026-01-02T03:04|x", "not-a-date|5", "|5", "2026-01-02T03:04",
+            "2026-13-02T03:04|5", "2026-01-02T03:04|99999999999999999999"})
+    void rejectsWellEncodedButMalformedKeys(String raw) {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> PostCursor.decode(cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+}
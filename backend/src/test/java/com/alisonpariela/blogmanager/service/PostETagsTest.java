@@ -0,0 +1,87 @@
+package com.alisonpariela.blogmanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostETagsTest {
+
+    private static final LocalDateTime STAMP = LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_897_932);
+    private static final String AUTHOR = "alison";
+
+    @Test
+    void postTagIsStrongAndTruncatedToMicroseconds() {
+        String tag = PostETags.post(42L, STAMP, AUTHOR);
+
+        assertThat(tag).startsWith("\"42-").endsWith("\"");
+        assertThat(PostETags.post(42L, STAMP.withNano(535_897_000), AUTHOR)).isEqualTo(tag);
+        assertThat(PostETags.post(42L, STAMP.withNano(535_898_000), AUTHOR)).isNotEqualTo(tag);
+        assertThat(PostETags.post(42L, null, AUTHOR)).startsWith("\"42-0-");
+    }
+
+    @Test
+    void renamingTheAuthorChangesThePostTag() {
+        String before = PostETags.post(42L, STAMP, AUTHOR);
+        String after = PostETags.post(42L, STAMP, "alison.p");
+
+        assertThat(after).isNotEqualTo(before);
+        // A tag read under the old name no longer satisfies If-Match.
+        assertThat(PostETags.stamps(before, 42L, "alison.p")).isEmpty();
+        assertThat(PostETags.stamps(after, 42L, "alison.p")).containsExactly(STAMP.withNano(535_897_000));
+    }
+
+    @Test
+    void stampsRoundTripThePostTag() {
+        assertThat(PostETags.stamps(PostETags.post(42L, STAMP, AUTHOR), 42L, AUTHOR))
+                .containsExactly(STAMP.withNano(535_897_000));
+
+        LocalDateTime beforeEpoch = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000);
+        assertThat(PostETags.stamps(PostETags.post(7L, beforeEpoch, AUTHOR), 7L, AUTHOR)).containsExactly(beforeEpoch);
+    }
+
+    @Test
+    void stampsCollectEveryTagOfThePostInAList() {
+        LocalDateTime later = STAMP.plusSeconds(5);
+        String header = PostETags.post(42L, STAMP, AUTHOR) + " ,  " + PostETags.post(42L, later, AUTHOR)
+                + "," + PostETags.post(4L, later, AUTHOR);
+
+        assertThat(PostETags.stamps(header, 42L, AUTHOR))
+                .containsExactly(STAMP.withNano(535_897_000), later.withNano(535_897_000));
+    }
+
+    @Test
+    void wildcardMatchesAnyStamp() {
+        assertThat(PostETags.stamps("*", 42L, AUTHOR)).isNull();
+        assertThat(PostETags.stamps(PostETags.post(42L, STAMP, AUTHOR) + ", *", 42L, AUTHOR)).isNull();
+    }
+
+    @Test
+    void weakForeignAndMalformedTagsNeverMatch() {
+        String strong = PostETags.post(42L, STAMP, AUTHOR);
+        String suffix = strong.substring(strong.lastIndexOf('-'));
+
+        assertThat(PostETags.stamps("W/" + strong, 42L, AUTHOR)).isEmpty();
+        // Same digits, different post: "4-" and "420-" are not "42-".
+        assertThat(PostETags.stamps(strong.replace("\"42-", "\"4-"), 42L, AUTHOR)).isEmpty();
+        assertThat(PostETags.stamps(strong.replace("\"42-", "\"420-"), 42L, AUTHOR)).isEmpty();
+        assertThat(PostETags.stamps(PostETags.post(42L, STAMP, AUTHOR), 4L, AUTHOR)).isEmpty();
+        assertThat(PostETags.stamps("\"42" + suffix, 42L, AUTHOR)).isEmpty();
+        assertThat(PostETags.stamps("\"42-" + suffix, 42L, AUTHOR)).isEmpty();
+        assertThat(PostETags.stamps("\"42-!!" + suffix, 42L, AUTHOR)).isEmpty();
+        assertThat(PostETags.stamps("\"42-zzzzzzzzzzzzzzzzzz" + suffix, 42L, AUTHOR)).isEmpty();
+        assertThat(PostETags.stamps(strong.substring(0, strong.length() - 1), 42L, AUTHOR)).isEmpty();
+        // Tags from before the author component was added.
+        assertThat(PostETags.stamps(strong.substring(0, strong.lastIndexOf('-')) + "\"", 42L, AUTHOR)).isEmpty();
+        assertThat(PostETags.stamps("", 42L, AUTHOR)).isEmpty();
+    }
+
+    @Test
+    void listingTagDependsOnVersionAndRequest() {
+        assertThat(PostETags.listing("v1", "page=0&size=10")).isEqualTo(PostETags.listing("v1", "page=0&size=10"));
+        assertThat(PostETags.listing("v1", "page=0&size=10")).isNotEqualTo(PostETags.listing("v2", "page=0&size=10"));
+        assertThat(PostETags.listing("v1", "page=0&size=10")).isNotEqualTo(PostETags.listing("v1", "page=1&size=10"));
+        assertThat(PostETags.listing("v1", "k")).startsWith("\"v1-").endsWith("\"");
+    }
+}